@@ -0,0 +1,155 @@
+package mango.core;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Measures a running {@link MangoServer} from the same host.
+ *
+ * <p>Opens a number of connections, each sending a fixed number of requests with up to
+ * {@code --pipeline} of them outstanding at a time, and prints the overall requests per second
+ * and latency percentiles. A request's latency runs from just before it is written until its
+ * reply has been read. The requests only read tasks ({@code list}, {@code find} and {@code due}),
+ * so a load test leaves the task file unchanged.</p>
+ */
+public final class LoadTestClient {
+    private static final String[] COMMANDS = {
+        "list --limit 10",
+        "find report",
+        "list --pending --type D --limit 5",
+        "due 2025-01-01 2025-12-31",
+    };
+    private static final String USAGE =
+            "Usage: LoadTestClient [--port <n>] [--connections <n>] [--requests <n>] [--pipeline <n>]";
+    private static final double NANOS_PER_SECOND = 1e9;
+    private static final double NANOS_PER_MICRO = 1e3;
+
+    private LoadTestClient() {
+    }
+
+    /**
+     * Runs the load test and prints its results.
+     *
+     * @param args {@code [--port <n>] [--connections <n>] [--requests <n>] [--pipeline <n>]};
+     *         requests are per connection.
+     * @throws Exception if a connection fails or the server closes one early.
+     */
+    public static void main(String[] args) throws Exception {
+        int port = MangoServer.DEFAULT_PORT;
+        int connections = 4;
+        int requests = 10_000;
+        int pipeline = 16;
+        if (args.length % 2 != 0) {
+            usage();
+        }
+        for (int i = 0; i < args.length; i += 2) {
+            int value = Integer.parseInt(args[i + 1]);
+            switch (args[i]) {
+                case "--port" -> port = value;
+                case "--connections" -> connections = value;
+                case "--requests" -> requests = value;
+                case "--pipeline" -> pipeline = value;
+                default -> usage();
+            }
+        }
+        if (connections < 1 || requests < 1 || pipeline < 1) {
+            usage();
+        }
+
+        long[] latencies = new long[connections * requests];
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        List<Thread> clients = new ArrayList<>(connections);
+        long start = System.nanoTime();
+        for (int c = 0; c < connections; c++) {
+            int finalPort = port;
+            int finalRequests = requests;
+            int finalPipeline = pipeline;
+            int offset = c * requests;
+            Thread client = new Thread(() -> {
+                try {
+                    run(finalPort, finalRequests, finalPipeline, latencies, offset);
+                } catch (Exception e) {
+                    failure.compareAndSet(null, e);
+                }
+            });
+            client.start();
+            clients.add(client);
+        }
+        for (Thread client : clients) {
+            client.join();
+        }
+        long elapsed = System.nanoTime() - start;
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+
+        Arrays.sort(latencies);
+        System.out.printf("%d requests over %d connections, pipeline %d: %.0f requests/s%n",
+                latencies.length, connections, pipeline, latencies.length * NANOS_PER_SECOND / elapsed);
+        System.out.printf("latency p50 %.0f us, p99 %.0f us, max %.0f us%n",
+                percentile(latencies, 0.50), percentile(latencies, 0.99),
+                latencies[latencies.length - 1] / NANOS_PER_MICRO);
+    }
+
+    /**
+     * Sends {@code requests} commands over one connection, recording each latency at
+     * {@code latencies[offset + i]}.
+     */
+    private static void run(int port, int requests, int pipeline, long[] latencies, int offset) throws IOException {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+                BufferedReader in = new BufferedReader(
+                        new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                Writer out = new BufferedWriter(
+                        new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            socket.setTcpNoDelay(true);
+            long[] sentAt = new long[requests];
+            int sent = 0;
+            for (int received = 0; received < requests; received++) {
+                // Top the window back up before waiting for the oldest outstanding reply.
+                int windowStart = sent;
+                while (sent < requests && sent - received < pipeline) {
+                    sentAt[sent] = System.nanoTime();
+                    out.write(COMMANDS[sent % COMMANDS.length]);
+                    out.write('\n');
+                    sent++;
+                }
+                if (sent > windowStart) {
+                    out.flush();
+                }
+                skipReply(in);
+                latencies[offset + received] = System.nanoTime() - sentAt[received];
+            }
+        }
+    }
+
+    private static void skipReply(BufferedReader in) throws IOException {
+        String line;
+        while (!MangoServer.END_OF_REPLY.equals(line = in.readLine())) {
+            if (line == null) {
+                throw new EOFException("Server closed the connection mid-reply");
+            }
+        }
+    }
+
+    private static double percentile(long[] sorted, double fraction) {
+        int index = (int) Math.ceil(fraction * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / NANOS_PER_MICRO;
+    }
+
+    private static void usage() {
+        System.err.println(USAGE);
+        System.exit(2);
+    }
+}
@@ -0,0 +1,71 @@
+package mango.gui;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import javafx.application.Platform;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.control.Label;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.WritableImage;
+import javafx.scene.layout.HBox;
+
+/**
+ * Measures the cost of creating one chat message node.
+ *
+ * <p>{@code parseFxmlPerMessage} reproduces the previous approach of loading
+ * {@code /view/DialogBox.fxml} for every message; {@code buildInCode} is the current
+ * {@link DialogBox}.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DialogBoxBenchmark {
+    private static final String TEXT = "Sweet! I’ve added this to your task basket:\n   [T][ ] read book";
+
+    private URL template;
+    private Image avatar;
+
+    @Setup(Level.Trial)
+    public void startToolkit() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        try {
+            Platform.startup(started::countDown);
+        } catch (IllegalStateException e) {
+            started.countDown();
+        }
+        started.await();
+        template = DialogBoxBenchmark.class.getResource("/view/DialogBox.fxml");
+        avatar = new WritableImage(99, 99);
+    }
+
+    @Benchmark
+    public HBox parseFxmlPerMessage() throws IOException {
+        FXMLLoader loader = new FXMLLoader(template);
+        HBox root = new HBox();
+        loader.setRoot(root);
+        loader.load();
+        ((Label) loader.getNamespace().get("dialog")).setText(TEXT);
+        ((ImageView) loader.getNamespace().get("displayPicture")).setImage(avatar);
+        return root;
+    }
+
+    @Benchmark
+    public HBox buildInCode() {
+        DialogBox box = new DialogBox();
+        box.show(TEXT, avatar, false);
+        return box;
+    }
+}
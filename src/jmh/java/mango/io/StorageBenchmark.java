@@ -0,0 +1,86 @@
+package mango.io;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import mango.task.LazyTaskList;
+import mango.task.Task;
+import mango.task.TaskGenerator;
+
+/**
+ * Measures writing and reading whole snapshots in each {@link StorageFormat}.
+ *
+ * <p>{@code save} writes the generated list, {@code load} decodes every task, and
+ * {@code loadLazily} only maps the file and checks its records, which is what startup pays.
+ * {@code roundTrip} saves and then fully loads, as converting or compacting does.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StorageBenchmark {
+    private static final long SEED = 42;
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    @Param({"TEXT", "BINARY"})
+    private StorageFormat format;
+
+    private Path dir;
+    private Storage storage;
+    private List<Task> tasks;
+
+    @Setup(Level.Trial)
+    public void writeSnapshot() throws IOException {
+        dir = Files.createTempDirectory("mango-storage-bench");
+        storage = new Storage(dir.resolve("mango.txt").toString());
+        tasks = TaskGenerator.tasks(size, SEED);
+        storage.convertTo(format, tasks);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFiles() throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public void save() throws IOException {
+        storage.save(tasks);
+    }
+
+    @Benchmark
+    public List<Task> load() throws IOException {
+        return storage.load();
+    }
+
+    @Benchmark
+    public LazyTaskList loadLazily() throws IOException {
+        return storage.loadLazily();
+    }
+
+    @Benchmark
+    public List<Task> roundTrip() throws IOException {
+        storage.save(tasks);
+        return storage.load();
+    }
+}
@@ -0,0 +1,123 @@
+package mango.parser;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import mango.exception.MangoException;
+import mango.task.Task;
+import mango.task.TaskGenerator;
+
+/**
+ * Measures the cost of turning one line of input into a command and its argument words.
+ *
+ * <p>{@code streamDispatchBaseline} reproduces the previous parsing path: a stream over
+ * {@link Command#values()}, {@code substring} plus {@code trim}, and a regex split.
+ * {@code parserPerLine} is the current {@link Parser} built from a string, and
+ * {@code tokenizeReused} is the path {@code MangoBot} takes, reusing one {@link ParsedInput}.</p>
+ *
+ * <p>The {@code parse*} benchmarks cover the rest of the work for a task-creating command:
+ * constructing a {@link Parser}, validating the argument and building the task, including its
+ * date parsing. {@code parseGeneratedLine} does the same for a realistic mix of commands.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ParserBenchmark {
+    private static final String[] INPUTS = {
+        "list",
+        "mark 3 7 12",
+        "todo read the quarterly report",
+        "deadline submit taxes /by 2025-04-30 2359",
+        "delete 100-5000",
+        "find /any report budget",
+        "unmark #42",
+        "bye",
+    };
+
+    private static final String TODO = "todo read the quarterly report";
+    private static final String DEADLINE = "deadline submit taxes /by 2025-04-30 2359";
+    private static final String EVENT = "event team offsite /from 2025-06-02 0900 /to 2025-06-03 1700";
+    private static final String[] GENERATED = TaskGenerator.commandLines(1024, 42);
+
+    private final ParsedInput reused = new ParsedInput();
+    private int next;
+    private int nextGenerated;
+
+    @Benchmark
+    public void streamDispatchBaseline(Blackhole bh) {
+        String input = nextInput();
+        Command command = Stream.of(Command.values())
+                .filter(c -> input.startsWith(c.keyword()))
+                .findFirst()
+                .orElse(Command.UNKNOWN);
+        String argument = input.substring(command.keyword().length()).trim();
+        bh.consume(command);
+        bh.consume(argument.split("\\s+"));
+    }
+
+    @Benchmark
+    public void parserPerLine(Blackhole bh) {
+        Parser parser = new Parser(nextInput());
+        bh.consume(parser.getCommand());
+        bh.consume(Tokenizer.splitWords(parser.getArgument()));
+    }
+
+    @Benchmark
+    public void tokenizeReused(Blackhole bh) {
+        ParsedInput parsed = Tokenizer.tokenize(nextInput(), this.reused);
+        bh.consume(parsed.getCommand());
+        bh.consume(Tokenizer.splitWords(parsed.getArgument()));
+    }
+
+    @Benchmark
+    public Command dispatchOnly() {
+        return Tokenizer.tokenize(nextInput(), this.reused).getCommand();
+    }
+
+    @Benchmark
+    public Task parseTodo() throws MangoException {
+        return parse(TODO);
+    }
+
+    @Benchmark
+    public Task parseDeadline() throws MangoException {
+        return parse(DEADLINE);
+    }
+
+    @Benchmark
+    public Task parseEvent() throws MangoException {
+        return parse(EVENT);
+    }
+
+    @Benchmark
+    public Object parseGeneratedLine() throws MangoException {
+        String input = GENERATED[this.nextGenerated];
+        this.nextGenerated = (this.nextGenerated + 1) % GENERATED.length;
+        Parser parser = new Parser(Tokenizer.tokenize(input, this.reused));
+        parser.validateArgument();
+        return switch (parser.getCommand()) {
+            case TODO, DEADLINE, EVENT -> parser.parseArgument();
+            default -> parser.getCommand();
+        };
+    }
+
+    private static Task parse(String input) throws MangoException {
+        Parser parser = new Parser(input);
+        parser.validateArgument();
+        return parser.parseArgument();
+    }
+
+    private String nextInput() {
+        String input = INPUTS[this.next];
+        this.next = (this.next + 1) % INPUTS.length;
+        return input;
+    }
+}
@@ -0,0 +1,93 @@
+package mango.task;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares full scans over a {@link ColumnarTaskStore} with the same scans over task objects.
+ *
+ * <p>Each pair answers one question both ways: {@code pendingDueBefore} collects the positions
+ * of pending deadlines due before April, {@code pendingDeadlinesPage} builds the last page of
+ * pending deadlines (so every task is tested and counted), and {@code findMissing} searches every
+ * description for a word none contains. The {@code objects} side loops over the generated
+ * {@code List<Task>} directly, without the indexes {@link TaskList} keeps.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ColumnarTaskStoreBenchmark {
+    private static final long SEED = 42;
+    private static final long CUTOFF = EpochMinutes.of(LocalDateTime.of(2025, 4, 1, 0, 0));
+
+    @Param({"1000000"})
+    private int size;
+
+    private List<Task> objects;
+    private ColumnarTaskStore columnar;
+    private ListQuery lastPendingDeadlines;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        objects = TaskGenerator.tasks(size, SEED);
+        columnar = new ColumnarTaskStore(objects);
+        lastPendingDeadlines = new ListQuery(ListQuery.Status.PENDING, "D", size, ListQuery.DEFAULT_LIMIT);
+    }
+
+    @Benchmark
+    public int[] objectsPendingDueBefore() {
+        int[] positions = new int[16];
+        int count = 0;
+        for (int i = 0; i < objects.size(); i++) {
+            if (objects.get(i) instanceof Deadline d && !d.isDone() && d.getByMinute() < CUTOFF) {
+                if (count == positions.length) {
+                    positions = Arrays.copyOf(positions, count * 2);
+                }
+                positions[count++] = i;
+            }
+        }
+        return Arrays.copyOf(positions, count);
+    }
+
+    @Benchmark
+    public int[] columnarPendingDueBefore() {
+        return columnar.dueBetween(Long.MIN_VALUE, CUTOFF, ListQuery.Status.PENDING);
+    }
+
+    @Benchmark
+    public TaskPage objectsPendingDeadlinesPage() {
+        return TaskList.page(objects, lastPendingDeadlines);
+    }
+
+    @Benchmark
+    public TaskPage columnarPendingDeadlinesPage() {
+        return columnar.page(lastPendingDeadlines);
+    }
+
+    @Benchmark
+    public int objectsFindMissing() {
+        int count = 0;
+        for (Task t : objects) {
+            if (t.getDescription().contains(TaskGenerator.MISSING_WORD)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int[] columnarFindMissing() {
+        return columnar.find(TaskGenerator.MISSING_WORD);
+    }
+}
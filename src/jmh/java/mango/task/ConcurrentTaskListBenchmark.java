@@ -0,0 +1,96 @@
+package mango.task;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import mango.exception.MangoException;
+
+/**
+ * Measures reader throughput while one writer keeps changing the list.
+ *
+ * <p>In each group one thread repeatedly adds a task and removes it again, and the others list a
+ * filtered page, which scans the whole list. The {@code snapshot} group reads a
+ * {@link ConcurrentTaskList} without locking; the {@code locked} group guards a {@link TaskList}
+ * with a read-write lock, so readers wait out each write and the writer waits out every read.</p>
+ *
+ * <p>Groups default to four readers. To sweep 1 to 16 readers, run the JMH jar with, for example,
+ * {@code -tg 1,1 -tg 1,2 -tg 1,4 -tg 1,8 -tg 1,16}.</p>
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ConcurrentTaskListBenchmark {
+    private static final long SEED = 42;
+    private static final ListQuery PENDING = new ListQuery(ListQuery.Status.PENDING, null, 0, ListQuery.DEFAULT_LIMIT);
+
+    @Param({"10000", "100000"})
+    private int size;
+
+    private ConcurrentTaskList concurrent;
+    private TaskList locked;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private int added;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        List<Task> tasks = TaskGenerator.tasks(size, SEED);
+        concurrent = new ConcurrentTaskList(tasks);
+        locked = new TaskList(tasks);
+    }
+
+    @Benchmark
+    @Group("snapshot")
+    @GroupThreads(1)
+    public List<Task> snapshotWriter() throws MangoException {
+        concurrent.add(new Todo("benchmark task " + added++));
+        int last = concurrent.size() - 1;
+        return concurrent.remove(new TaskSelector(false, new int[] {last, last}, new long[0], "", List.of()));
+    }
+
+    @Benchmark
+    @Group("snapshot")
+    @GroupThreads(4)
+    public TaskPage snapshotReader() {
+        return concurrent.page(PENDING);
+    }
+
+    @Benchmark
+    @Group("locked")
+    @GroupThreads(1)
+    public List<Task> lockedWriter() throws MangoException {
+        lock.writeLock().lock();
+        try {
+            locked.add(new Todo("benchmark task " + added++));
+            int last = locked.size() - 1;
+            return locked.remove(List.of(last));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Benchmark
+    @Group("locked")
+    @GroupThreads(4)
+    public TaskPage lockedReader() {
+        lock.readLock().lock();
+        try {
+            return locked.page(PENDING);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
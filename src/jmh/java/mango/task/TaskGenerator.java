@@ -0,0 +1,117 @@
+package mango.task;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Generates reproducible task lists and command lines for benchmarks.
+ *
+ * <p>Lists mix roughly 60% todos, 25% deadlines and 15% events with two- to five-word
+ * descriptions drawn from a small vocabulary, dates spread over 2025, and a fifth of the tasks
+ * done. Each description ends in its position, so no two tasks collide as duplicates, and ids are
+ * assigned as {@link TaskList} would.</p>
+ */
+public final class TaskGenerator {
+    /** A word that about one description in eight contains, for searches with many matches. */
+    public static final String COMMON_WORD = "report";
+    /** A word that no generated description contains. */
+    public static final String MISSING_WORD = "zucchini";
+
+    private static final String[] WORDS = {
+        "read", "book", "submit", "taxes", "call", "mum", "project", "meeting", "buy", "groceries",
+        "review", "draft", "budget", "plan", "trip", "fix", "bike", "email", "team", "update",
+        "clean", "kitchen", "pay", "rent", "study", "exam", "walk", "dog", "water", "plants",
+        "quarterly", "slides",
+    };
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final int MINUTES_PER_YEAR = 365 * 24 * 60;
+    private static final int MAX_EVENT_MINUTES = 3 * 24 * 60;
+
+    private TaskGenerator() {
+    }
+
+    /**
+     * Generates a list of tasks.
+     *
+     * @param count the number of tasks.
+     * @param seed the random seed; equal seeds give equal lists.
+     * @return a mutable list of {@code count} tasks with ids {@code 1..count}.
+     */
+    public static List<Task> tasks(int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tasks.add(task(random, i));
+        }
+        TaskList.assignMissingIds(tasks);
+        return tasks;
+    }
+
+    /**
+     * Generates command lines in the proportions a user might type them.
+     *
+     * @param count the number of lines.
+     * @param seed the random seed; equal seeds give equal lines.
+     * @return the lines.
+     */
+    public static String[] commandLines(int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        String[] lines = new String[count];
+        for (int i = 0; i < count; i++) {
+            int roll = random.nextInt(100);
+            if (roll < 30) {
+                lines[i] = "todo " + description(random, i);
+            } else if (roll < 45) {
+                lines[i] = "deadline " + description(random, i) + " /by " + dateTime(random, 0);
+            } else if (roll < 55) {
+                lines[i] = "event " + description(random, i) + " /from " + dateTime(random, 0)
+                        + " /to " + dateTime(random, MINUTES_PER_YEAR);
+            } else if (roll < 70) {
+                lines[i] = "list";
+            } else if (roll < 85) {
+                lines[i] = "mark " + (1 + random.nextInt(1000));
+            } else {
+                lines[i] = "find " + WORDS[random.nextInt(WORDS.length)];
+            }
+        }
+        return lines;
+    }
+
+    private static Task task(SplittableRandom random, int i) {
+        int roll = random.nextInt(100);
+        String description = description(random, i);
+        Task t;
+        if (roll < 60) {
+            t = new Todo(description);
+        } else if (roll < 85) {
+            t = new Deadline(description, START.plusMinutes(random.nextInt(MINUTES_PER_YEAR)));
+        } else {
+            LocalDateTime from = START.plusMinutes(random.nextInt(MINUTES_PER_YEAR));
+            t = new Event(description, from, from.plusMinutes(1 + random.nextInt(MAX_EVENT_MINUTES)));
+        }
+        if (random.nextInt(5) == 0) {
+            t.markAsDone();
+        }
+        return t;
+    }
+
+    private static String description(SplittableRandom random, int i) {
+        StringBuilder sb = new StringBuilder();
+        int words = 2 + random.nextInt(4);
+        for (int w = 0; w < words; w++) {
+            sb.append(random.nextInt(8 * words) == 0 ? COMMON_WORD : WORDS[random.nextInt(WORDS.length)]).append(' ');
+        }
+        return sb.append(i).toString();
+    }
+
+    /**
+     * Returns a date/time in the input format, {@code offsetMinutes} after a random point in 2025.
+     */
+    private static String dateTime(SplittableRandom random, int offsetMinutes) {
+        LocalDateTime t = START.plusMinutes(random.nextInt(MINUTES_PER_YEAR) + offsetMinutes);
+        return String.format("%04d-%02d-%02d %02d%02d", t.getYear(), t.getMonthValue(), t.getDayOfMonth(),
+                t.getHour(), t.getMinute());
+    }
+}
@@ -0,0 +1,103 @@
+package mango.task;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import mango.exception.MangoException;
+
+/**
+ * Measures the {@link TaskList} operations behind {@code todo}, {@code find}, {@code mark} and
+ * {@code delete} on generated lists of 1k to 1M tasks.
+ *
+ * <p>{@code addAndRemoveLast} keeps the list at its size by removing the task it added.
+ * {@code removeTenthSpread} destroys its list, so it runs once per freshly copied list in
+ * single-shot mode.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskListBenchmark {
+    private static final long SEED = 42;
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private List<Task> generated;
+    private TaskList taskList;
+    private BitSet firstPercent;
+    private int added;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        generated = TaskGenerator.tasks(size, SEED);
+        taskList = new TaskList(generated);
+        // Build the lazily created indexes outside the measurement.
+        taskList.find(TaskGenerator.MISSING_WORD);
+        firstPercent = new BitSet(size);
+        firstPercent.set(0, Math.max(1, size / 100));
+    }
+
+    @Benchmark
+    public List<Task> addAndRemoveLast() throws MangoException {
+        taskList.add(new Todo("benchmark task " + added++));
+        BitSet last = new BitSet();
+        last.set(taskList.size() - 1);
+        return taskList.remove(last);
+    }
+
+    @Benchmark
+    public List<Task> findSubstring() {
+        return taskList.find(TaskGenerator.COMMON_WORD);
+    }
+
+    @Benchmark
+    public List<Task> findAllWords() {
+        return taskList.find(SearchQuery.allWords(List.of(TaskGenerator.COMMON_WORD, "budget")));
+    }
+
+    @Benchmark
+    public List<Task> findMissing() {
+        return taskList.find(TaskGenerator.MISSING_WORD);
+    }
+
+    @Benchmark
+    public List<Task> markFirstPercent() {
+        return taskList.mark(firstPercent);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Task> removeTenthSpread(Copy copy) {
+        return copy.taskList.remove(copy.everyTenth);
+    }
+
+    /**
+     * A fresh copy of the generated list for each destructive invocation.
+     */
+    @State(Scope.Thread)
+    public static class Copy {
+        private TaskList taskList;
+        private BitSet everyTenth;
+
+        @Setup(Level.Invocation)
+        public void copy(TaskListBenchmark benchmark) {
+            taskList = new TaskList(benchmark.generated);
+            everyTenth = new BitSet(benchmark.size);
+            for (int i = 0; i < benchmark.size; i += 10) {
+                everyTenth.set(i);
+            }
+        }
+    }
+}
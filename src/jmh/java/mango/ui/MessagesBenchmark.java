@@ -0,0 +1,70 @@
+package mango.ui;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import mango.task.ListQuery;
+import mango.task.Task;
+import mango.task.TaskGenerator;
+import mango.task.TaskList;
+
+/**
+ * Measures rendering task listings into reply text.
+ *
+ * <p>{@code listFirstPage} renders the default page that a plain {@code list} shows,
+ * {@code listPendingPage} the same page under a filter, and {@code listEverything} one page holding
+ * the whole list. {@code foundCommonWord} renders the results of a search that matches about an
+ * eighth of the tasks.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MessagesBenchmark {
+    private static final long SEED = 42;
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private TaskList taskList;
+    private ListQuery pending;
+    private ListQuery everything;
+    private List<Task> found;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        taskList = new TaskList(TaskGenerator.tasks(size, SEED));
+        pending = new ListQuery(ListQuery.Status.PENDING, null, 0, ListQuery.DEFAULT_LIMIT);
+        everything = new ListQuery(ListQuery.Status.ANY, null, 0, size);
+        found = taskList.find(TaskGenerator.COMMON_WORD);
+    }
+
+    @Benchmark
+    public String listFirstPage() {
+        return Messages.list(taskList.page(ListQuery.firstPage()));
+    }
+
+    @Benchmark
+    public String listPendingPage() {
+        return Messages.list(taskList.page(pending));
+    }
+
+    @Benchmark
+    public String listEverything() {
+        return Messages.list(taskList.page(everything));
+    }
+
+    @Benchmark
+    public String foundCommonWord() {
+        return Messages.found(found);
+    }
+}
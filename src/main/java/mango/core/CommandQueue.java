@@ -0,0 +1,74 @@
+package mango.core;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
+/**
+ * Single-writer queue that runs {@link MangoBot#respond(String)} on a dedicated worker thread.
+ *
+ * <p>All commands go through one thread, so they execute strictly in submission order and the
+ * task list and storage are never touched concurrently. Callers such as the GUI stay responsive
+ * while a command (and its disk write) is in progress.</p>
+ */
+public class CommandQueue implements AutoCloseable {
+    private static final String WORKER_NAME = "mango-command-worker";
+
+    private final MangoBot mangoBot;
+    private final ExecutorService worker;
+
+    /**
+     * Constructs a {@code CommandQueue} in front of the given bot.
+     *
+     * @param mangoBot the bot that executes commands.
+     */
+    public CommandQueue(MangoBot mangoBot) {
+        assert mangoBot != null : "CommandQueue needs a MangoBot";
+        this.mangoBot = mangoBot;
+        this.worker = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, WORKER_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Queues one line of user input.
+     *
+     * <p>Futures complete in submission order, on the worker thread.</p>
+     *
+     * @param input the raw user input.
+     * @return a future completed with MangoBot's reply.
+     * @throws RejectedExecutionException if the queue has been closed.
+     */
+    public CompletableFuture<String> submit(String input) {
+        assert input != null : "Queued input must be non-null";
+        return submit(bot -> bot.respond(input));
+    }
+
+    /**
+     * Queues a call on the bot, in order with queued input.
+     *
+     * <p>Lets a caller read state a command left behind, such as the command it resolved to,
+     * before the next command runs.</p>
+     *
+     * @param call the call to run on the worker thread.
+     * @param <T> the result type.
+     * @return a future completed with the call's result.
+     * @throws RejectedExecutionException if the queue has been closed.
+     */
+    public <T> CompletableFuture<T> submit(Function<MangoBot, T> call) {
+        assert call != null : "Queued call must be non-null";
+        return CompletableFuture.supplyAsync(() -> call.apply(mangoBot), worker);
+    }
+
+    /**
+     * Stops accepting commands; commands already queued still run to completion.
+     */
+    @Override
+    public void close() {
+        worker.shutdown();
+    }
+}
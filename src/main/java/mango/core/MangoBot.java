@@ -1,13 +1,27 @@
 package mango.core;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import mango.exception.MangoException;
+import mango.io.Durability;
+import mango.io.RecoveryReport;
 import mango.io.Storage;
 import mango.parser.Command;
+import mango.parser.CommandTable;
+import mango.parser.ParsedInput;
 import mango.parser.Parser;
+import mango.parser.Tokenizer;
 import mango.task.Task;
 import mango.task.TaskList;
 import mango.ui.Messages;
@@ -18,17 +32,50 @@ import mango.ui.Ui;
  *
  * <p>Manages user interaction, task management, and persistent storage. Supports commands
  * such as {@code todo}, {@code deadline}, {@code event}, {@code list}, {@code mark},
- * {@code unmark}, {@code delete}, {@code find}, and {@code bye}.</p>
+ * {@code unmark}, {@code delete}, {@code find}, {@code due}, {@code on}, {@code alias}, and
+ * {@code bye}.</p>
  *
  * <p>On construction, prints a welcome message, initializes storage, and attempts to load
- * tasks from disk. If loading fails, a user-visible message is recorded in
- * {@link #getStartupErrorMessage()} for GUI display.</p>
+ * tasks from disk. If loading fails, or damaged records had to be skipped, a user-visible message
+ * is recorded in {@link #getStartupErrorMessage()} for GUI display.</p>
+ *
+ * <p>Tasks are loaded lazily: the storage file is mapped and each task is decoded the first time
+ * a command reads it. Records that are damaged or cannot be decoded are skipped and reported at
+ * startup, like any other recovery.</p>
+ *
+ * <p>Changes are journaled with {@link Durability#ON_INTERVAL}, so bursts of commands share one
+ * disk write. Buffered changes are flushed on {@code bye} and, once an entry point calls
+ * {@link #closeStorageOnExit()}, by a shutdown hook.</p>
+ *
+ * <p>Commands are recognized by their whole first word in a {@link CommandTable} that also holds
+ * the user's saved aliases.</p>
+ *
+ * <p>Besides the interactive {@link #run()} loop, {@link #runScript()} executes a file or pipe of
+ * commands with one storage commit at the end and reports its throughput on {@code System.err}.
+ * {@link #main(String[])} picks it for {@code --script <file>} or when standard input is not a
+ * terminal; {@code --quiet} suppresses the replies.</p>
+ *
+ * <p>Each line is tokenized once, into a {@link ParsedInput} reused across calls, so
+ * {@link #respond(String)} must not be called concurrently; {@link CommandQueue} serializes
+ * callers, and {@link MangoServer} puts one in front of every network client.</p>
  */
 public class MangoBot {
+    private static final String SHUTDOWN_HOOK_NAME = "mango-storage-close";
+    /** Task file used by the console and server entry points. */
+    static final String DEFAULT_FILE_PATH = "./data/mango.txt";
+    private static final String SCRIPT_OPTION = "--script";
+    private static final String QUIET_OPTION = "--quiet";
+    private static final String USAGE = "Usage: MangoBot [--script <file>] [--quiet]";
+    private static final double NANOS_PER_SECOND = 1e9;
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+
     private final Storage storage;
     private final TaskList taskList;
     private final Ui ui;
+    private final CommandTable commands = new CommandTable();
+    private final ParsedInput parsed = new ParsedInput();
     private String startupErrorMessage;
+    private int failureCount;
 
     /**
      * Constructs a {@code MangoBot} with the backing storage file.
@@ -37,18 +84,37 @@ public class MangoBot {
      * @throws IOException if storage initialization fails.
      */
     public MangoBot(String filePath) throws IOException {
-        this.ui = new Ui();
+        this(filePath, Durability.ON_INTERVAL, new Ui());
+    }
+
+    /**
+     * Constructs a {@code MangoBot} with the backing storage file, journal durability and console.
+     *
+     * @param filePath the path to the file where tasks will be saved and loaded.
+     * @param durability how eagerly changes are written to disk.
+     * @param ui the console to read commands from and show replies on.
+     * @throws IOException if storage initialization fails.
+     */
+    public MangoBot(String filePath, Durability durability, Ui ui) throws IOException {
+        this.ui = ui;
         ui.showMessage(Messages.welcome());
-        this.storage = new Storage(filePath);
+        this.storage = new Storage(filePath, durability);
         List<Task> loadedTasks;
         try {
-            loadedTasks = this.storage.load();
-        } catch (IOException e) {
+            loadedTasks = this.storage.loadLazily();
+            RecoveryReport report = this.storage.getRecoveryReport();
+            if (!report.isClean()) {
+                this.startupErrorMessage = Messages.recovered(report.getSkippedTasks(),
+                        report.getSkippedJournalRecords());
+                ui.showMessage(this.startupErrorMessage);
+            }
+        } catch (IOException | UncheckedIOException e) {
             this.startupErrorMessage = Messages.failedLoad();
             ui.showMessage(Messages.failedLoad());
             loadedTasks = new ArrayList<>();
         }
         this.taskList = new TaskList(loadedTasks);
+        loadAliases();
     }
 
     /**
@@ -62,34 +128,76 @@ public class MangoBot {
         try {
             return buildReplyForInput(input);
         } catch (MangoException e) {
+            failureCount++;
             return Messages.error(e.getMessage());
         } catch (IOException e) {
+            failureCount++;
             return Messages.failedSave();
+        } catch (UncheckedIOException e) {
+            failureCount++;
+            return Messages.failedLoad();
         }
     }
 
     /**
-     * Runs the console interface loop until the {@code bye} command is issued.
+     * Returns the command the last {@link #respond(String)} call resolved, with aliases followed.
+     *
+     * @return the last command, or {@link Command#UNKNOWN} before the first call.
+     */
+    Command getLastCommand() {
+        return this.parsed.getCommand();
+    }
+
+    /**
+     * Runs the console interface loop until the {@code bye} command is issued or input ends.
      */
     public void run() {
         while (true) {
             String input = ui.readCommand();
-            assert input != null : "Console input should not be null";
+            if (input == null) {
+                ui.close();
+                return;
+            }
 
-            if (commandIsBye(input)) {
-                ui.showMessage(Messages.bye());
+            ui.showMessage(respond(input));
+            if (this.parsed.getCommand() == Command.BYE) {
                 ui.close();
                 return;
             }
+        }
+    }
 
+    /**
+     * Executes commands from the console until input ends or {@code bye} is issued, then commits
+     * every change to storage at once and reports throughput on {@code System.err}.
+     *
+     * @throws IOException if the changes cannot be committed.
+     */
+    public void runScript() throws IOException {
+        int commandCount = 0;
+        int failuresBefore = failureCount;
+        long start = System.nanoTime();
+        String input;
+        while ((input = ui.readCommand()) != null) {
             ui.showMessage(respond(input));
+            commandCount++;
+            if (this.parsed.getCommand() == Command.BYE) {
+                break;
+            }
         }
+        storage.commit(taskList.view());
+        ui.close();
+        long elapsed = System.nanoTime() - start;
+        System.err.printf("Ran %d commands (%d failed) in %d ms: %.0f commands/s%n", commandCount,
+                failureCount - failuresBefore, elapsed / NANOS_PER_MILLI,
+                commandCount * NANOS_PER_SECOND / Math.max(elapsed, 1));
     }
 
     /**
-     * Returns the startup error message if tasks failed to load during construction.
+     * Returns the startup error message if tasks failed to load, or were only partly recovered,
+     * during construction.
      *
-     * @return the startup error message, or {@code null} if no load error occurred.
+     * @return the startup error message, or {@code null} if everything loaded cleanly.
      */
     public String getStartupErrorMessage() {
         return this.startupErrorMessage;
@@ -104,21 +212,11 @@ public class MangoBot {
      * @throws IOException if saving to storage fails in the dispatched handler.
      */
     private String buildReplyForInput(String input) throws MangoException, IOException {
-        Parser p = new Parser(input);
+        Parser p = new Parser(Tokenizer.tokenize(input, this.commands, this.parsed));
         p.validateArgument();
         return getReply(p);
     }
 
-    /**
-     * Returns {@code true} if the input corresponds to the {@code bye} command.
-     *
-     * @param input the raw user input.
-     * @return whether the command is {@code bye}.
-     */
-    private boolean commandIsBye(String input) {
-        return new Parser(input).getCommand() == Command.BYE;
-    }
-
     /**
      * Produces a reply for a validated parser by dispatching to the matching command handler.
      *
@@ -130,58 +228,161 @@ public class MangoBot {
     private String getReply(Parser p) throws MangoException, IOException {
         assert p.getCommand() != null : "Parser must set a non-null command";
         return switch (p.getCommand()) {
-            case BYE -> Messages.bye();
+            case BYE -> handleBye();
             case LIST -> handleList(p);
             case MARK -> handleMark(p);
             case UNMARK -> handleUnmark(p);
             case TODO, EVENT, DEADLINE -> handleAdd(p);
             case DELETE -> handleDelete(p);
             case FIND -> handleFind(p);
-            default -> Messages.invalid();
+            case DUE -> handleDue(p);
+            case ON -> handleOn(p);
+            case ALIAS -> handleAlias(p);
+            default -> handleUnknown();
         };
     }
 
-    private String handleList(Parser p) {
-        return Messages.list(taskList.view());
+    private String handleUnknown() {
+        failureCount++;
+        return Messages.invalid();
+    }
+
+    private String handleBye() throws IOException {
+        storage.flush();
+        return Messages.bye();
+    }
+
+    private String handleList(Parser p) throws MangoException {
+        return Messages.list(taskList.page(p.parseListQuery()));
     }
 
     private String handleMark(Parser p) throws MangoException, IOException {
-        List<Integer> indices = p.parseMultipleIndices(taskList.size());
-        List<Task> marked = taskList.mark(indices);
-        storage.save(taskList.view());
+        List<Task> marked = taskList.mark(taskList.select(p.parseSelector(taskList)));
+        storage.recordMark(marked, taskList.view());
         return Messages.marked(marked);
     }
 
     private String handleUnmark(Parser p) throws MangoException, IOException {
-        List<Integer> indices = p.parseMultipleIndices(taskList.size());
-        List<Task> unmarked = taskList.unmark(indices);
-        storage.save(taskList.view());
+        List<Task> unmarked = taskList.unmark(taskList.select(p.parseSelector(taskList)));
+        storage.recordUnmark(unmarked, taskList.view());
         return Messages.unmarked(unmarked);
     }
 
     private String handleAdd(Parser p) throws MangoException, IOException {
         Task t = taskList.add(p.parseArgument());
-        storage.save(taskList.view());
+        storage.recordAdd(t, taskList.view());
         return Messages.added(t, taskList.size());
     }
 
     private String handleDelete(Parser p) throws MangoException, IOException {
-        var indices = p.parseMultipleIndices(taskList.size());
-        var removed = taskList.remove(indices);
-        storage.save(taskList.view());
+        var removed = taskList.remove(taskList.select(p.parseSelector(taskList)));
+        storage.recordDelete(removed, taskList.view());
         return Messages.removed(removed, taskList.size());
     }
 
-    private String handleFind(Parser p) {
-        return Messages.found(taskList.find(p.getArgument()));
+    private String handleFind(Parser p) throws MangoException {
+        return Messages.found(taskList.find(p.parseSearchQuery()));
+    }
+
+    private String handleDue(Parser p) throws MangoException {
+        List<LocalDate> days = p.parseDayRange();
+        return Messages.due(taskList.dueBetween(
+                days.get(0).atStartOfDay(), days.get(1).plusDays(1).atStartOfDay()));
+    }
+
+    private String handleOn(Parser p) throws MangoException {
+        List<LocalDate> days = p.parseDayRange();
+        return Messages.scheduled(taskList.scheduledBetween(
+                days.get(0).atStartOfDay(), days.get(1).plusDays(1).atStartOfDay()));
+    }
+
+    private String handleAlias(Parser p) throws MangoException, IOException {
+        String[] words = p.parseAlias();
+        if (words.length == 0) {
+            return Messages.aliases(commands.aliases());
+        }
+        if (words.length == 1) {
+            commands.remove(words[0]);
+            storage.saveAliases(commands.aliases());
+            return Messages.aliasRemoved(words[0]);
+        }
+        commands.define(words[0], words[1]);
+        storage.saveAliases(commands.aliases());
+        return Messages.aliasAdded(words[0], commands.aliases().get(words[0]));
+    }
+
+    /**
+     * Restores saved aliases, skipping any that no longer name a command; aliases are a
+     * convenience, so a failure to read them is only logged.
+     */
+    private void loadAliases() {
+        try {
+            for (Map.Entry<String, String> alias : storage.loadAliases().entrySet()) {
+                try {
+                    commands.define(alias.getKey(), alias.getValue());
+                } catch (MangoException e) {
+                    // A newer version may have made the alias a built-in keyword.
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Could not load aliases: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Registers a shutdown hook that writes buffered changes when the JVM exits.
+     *
+     * <p>Only the entry points call this, once for the bot they run, so bots created elsewhere
+     * (e.g., in tests) leave no hook behind.</p>
+     */
+    public void closeStorageOnExit() {
+        Runtime.getRuntime().addShutdownHook(new Thread(this::closeStorage, SHUTDOWN_HOOK_NAME));
+    }
+
+    /**
+     * Writes buffered changes when the JVM exits; a failure can only be logged at that point.
+     */
+    private void closeStorage() {
+        try {
+            storage.close();
+        } catch (IOException e) {
+            System.err.println("Could not flush tasks on exit: " + e.getMessage());
+        }
     }
 
     /**
-     * Creates and runs a new {@code MangoBot} instance.
+     * Creates and runs a new {@code MangoBot} instance, interactively or, for {@code --script <file>}
+     * or input that is not a terminal, as a script.
      *
-     * @throws IOException if storage initialization fails.
+     * @param args {@code [--script <file>] [--quiet]}.
+     * @throws IOException if storage initialization fails, the script cannot be opened, or a
+     *     script's changes cannot be committed.
      */
     public static void main(String[] args) throws IOException {
-        new MangoBot("./data/mango.txt").run();
+        String script = null;
+        boolean isQuiet = false;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals(SCRIPT_OPTION) && i + 1 < args.length) {
+                script = args[++i];
+            } else if (args[i].equals(QUIET_OPTION)) {
+                isQuiet = true;
+            } else {
+                System.err.println(USAGE);
+                System.exit(2);
+            }
+        }
+        if (script == null && !isQuiet && System.console() != null) {
+            MangoBot mangoBot = new MangoBot(DEFAULT_FILE_PATH);
+            mangoBot.closeStorageOnExit();
+            mangoBot.run();
+            return;
+        }
+        BufferedReader in = script == null
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                : Files.newBufferedReader(Path.of(script), StandardCharsets.UTF_8);
+        Ui ui = new Ui(in, new OutputStreamWriter(System.out, StandardCharsets.UTF_8), isQuiet);
+        MangoBot mangoBot = new MangoBot(DEFAULT_FILE_PATH, Durability.ON_FLUSH, ui);
+        mangoBot.closeStorageOnExit();
+        mangoBot.runScript();
     }
 }
@@ -0,0 +1,259 @@
+package mango.core;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import mango.exception.MangoException;
+import mango.io.Durability;
+import mango.parser.Command;
+import mango.ui.Messages;
+import mango.ui.Ui;
+
+/**
+ * Serves {@link MangoBot#respond(String)} to other programs on the same host over TCP.
+ *
+ * <p>The protocol is line based. Each line a client sends is one command. Each reply is sent as
+ * its lines followed by a line holding only {@value #END_OF_REPLY}; a reply line that itself
+ * starts with a dot gets a second one, which the client strips (as in SMTP). Replies come back in
+ * the order the commands were sent. {@code bye}, or an alias for it, is answered and then ends the
+ * connection, not the server; commands the client sent after it are not run.</p>
+ *
+ * <p>Clients may pipeline: a session submits every command it has received to the shared
+ * {@link CommandQueue} without waiting, and writes the replies once no more input is waiting or
+ * {@value #MAX_PENDING} replies are outstanding, so a client that sends without reading cannot
+ * make the server hold an unbounded backlog. All sessions share that single-writer queue, so
+ * commands from different clients never run concurrently. Each session has its own thread.</p>
+ *
+ * <p>The server only listens on the loopback interface.</p>
+ */
+public class MangoServer implements AutoCloseable {
+    /** Port used when none is given. */
+    public static final int DEFAULT_PORT = 4545;
+    /** Line that ends every reply. */
+    public static final String END_OF_REPLY = ".";
+    /** Replies a session may have outstanding before it stops reading to write them. */
+    public static final int MAX_PENDING = 64;
+
+    private static final String PORT_OPTION = "--port";
+    private static final int MAX_PORT = 0xFFFF;
+    private static final String USAGE = "Usage: MangoServer [--port <n>]";
+    private static final String ACCEPTOR_NAME = "mango-server-accept";
+    private static final String SESSION_NAME = "mango-session-";
+
+    private final CommandQueue commandQueue;
+    private final ExecutorService sessions;
+    private final AtomicInteger sessionCount = new AtomicInteger();
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+    private ServerSocket serverSocket;
+
+    /**
+     * Constructs a {@code MangoServer} in front of the given bot.
+     *
+     * @param mangoBot the bot that executes commands; nothing else may call it while the server runs.
+     */
+    public MangoServer(MangoBot mangoBot) {
+        this.commandQueue = new CommandQueue(mangoBot);
+        this.sessions = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, SESSION_NAME + sessionCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts accepting connections on a background thread.
+     *
+     * @param port the loopback port to listen on; {@code 0} picks a free one.
+     * @return the port actually bound.
+     * @throws IOException if the port cannot be bound.
+     */
+    public int start(int port) throws IOException {
+        assert this.serverSocket == null : "A server starts only once";
+        this.serverSocket = new ServerSocket(port, 0, InetAddress.getLoopbackAddress());
+        Thread acceptor = new Thread(this::acceptConnections, ACCEPTOR_NAME);
+        acceptor.start();
+        return this.serverSocket.getLocalPort();
+    }
+
+    /**
+     * Stops accepting connections and commands and disconnects every client; commands already
+     * queued still run to completion.
+     *
+     * @throws IOException if the listening socket cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        if (this.serverSocket != null) {
+            this.serverSocket.close();
+        }
+        this.sessions.shutdownNow();
+        this.commandQueue.close();
+        // A session blocked reading from its client only wakes up once the socket is closed.
+        for (Socket socket : this.connections) {
+            closeQuietly(socket);
+        }
+    }
+
+    private void acceptConnections() {
+        while (!this.serverSocket.isClosed()) {
+            Socket socket;
+            try {
+                socket = this.serverSocket.accept();
+            } catch (IOException e) {
+                // Thrown once close() closes the socket; any other accept failure affects one client only.
+                continue;
+            }
+            this.connections.add(socket);
+            try {
+                this.sessions.execute(() -> serve(socket));
+            } catch (RejectedExecutionException e) {
+                // close() ran after the accept.
+                this.connections.remove(socket);
+                closeQuietly(socket);
+            }
+        }
+    }
+
+    /**
+     * Runs one connection until the client disconnects or a command resolves to {@code bye}.
+     */
+    private void serve(Socket socket) {
+        try (socket;
+                BufferedReader in = new BufferedReader(
+                        new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                Writer out = new BufferedWriter(
+                        new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            Queue<CompletableFuture<String>> pending = new ArrayDeque<>();
+            AtomicBoolean isBye = new AtomicBoolean();
+            String line;
+            while (!isBye.get() && (line = in.readLine()) != null) {
+                pending.add(submit(line, isBye));
+                if (!in.ready() || pending.size() >= MAX_PENDING) {
+                    writeReplies(pending, out);
+                }
+            }
+            writeReplies(pending, out);
+        } catch (IOException e) {
+            // The client went away, or close() disconnected it; commands it already sent still run.
+        } finally {
+            this.connections.remove(socket);
+        }
+    }
+
+    /**
+     * Queues one command of a session, which is skipped once an earlier one has resolved to
+     * {@code bye}, aliases included. The queue's single worker runs both the check and the
+     * command, so no later command can slip in between.
+     *
+     * @return the reply, {@code null} if the command was skipped.
+     */
+    private CompletableFuture<String> submit(String line, AtomicBoolean isBye) {
+        try {
+            return this.commandQueue.submit(bot -> {
+                if (isBye.get()) {
+                    return null;
+                }
+                String reply = bot.respond(line);
+                isBye.set(bot.getLastCommand() == Command.BYE);
+                return reply;
+            });
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(Messages.error(MangoException.ERR_SHUTTING_DOWN));
+        }
+    }
+
+    /**
+     * Waits for each pending reply in turn, writes it framed, and flushes once at the end.
+     */
+    private static void writeReplies(Queue<CompletableFuture<String>> pending, Writer out) throws IOException {
+        while (!pending.isEmpty()) {
+            String reply;
+            try {
+                reply = pending.remove().join();
+            } catch (CompletionException e) {
+                reply = Messages.error(String.valueOf(e.getCause().getMessage()));
+            }
+            if (reply == null) {
+                continue;
+            }
+            for (String replyLine : reply.split("\n", -1)) {
+                if (replyLine.startsWith(END_OF_REPLY)) {
+                    out.write(END_OF_REPLY);
+                }
+                out.write(replyLine);
+                out.write('\n');
+            }
+            out.write(END_OF_REPLY);
+            out.write('\n');
+        }
+        out.flush();
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // Already closed or broken; either way the client is gone.
+        }
+    }
+
+    /**
+     * Returns {@code text} as a port number, or {@code -1} if it is not one.
+     */
+    private static int parsePort(String text) {
+        try {
+            int port = Integer.parseInt(text);
+            return port <= MAX_PORT ? port : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Loads the default task file and serves it until the process is stopped.
+     *
+     * @param args {@code [--port <n>]}.
+     * @throws IOException if storage initialization fails or the port cannot be bound.
+     */
+    public static void main(String[] args) throws IOException {
+        int port = DEFAULT_PORT;
+        if (args.length == 2 && args[0].equals(PORT_OPTION)) {
+            port = parsePort(args[1]);
+        } else if (args.length != 0) {
+            port = -1;
+        }
+        if (port < 0) {
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+        Ui silent = new Ui(new BufferedReader(Reader.nullReader()), Writer.nullWriter(), true);
+        MangoBot mangoBot = new MangoBot(MangoBot.DEFAULT_FILE_PATH, Durability.ON_INTERVAL, silent);
+        mangoBot.closeStorageOnExit();
+        if (mangoBot.getStartupErrorMessage() != null) {
+            System.err.println(mangoBot.getStartupErrorMessage());
+        }
+        int bound = new MangoServer(mangoBot).start(port);
+        System.err.println("MangoBot listening on "
+                + InetAddress.getLoopbackAddress().getHostAddress() + ":" + bound);
+    }
+}
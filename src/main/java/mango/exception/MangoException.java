@@ -22,9 +22,36 @@ public class MangoException extends Exception {
     public static final String ERR_DELETE_EMPTY = "The index of the Task to be removed must be specified.";
     public static final String ERR_DELETE_RANGE = "The index of the Task to removed must be within the list.";
 
+    public static final String ERR_NO_SUCH_ID = "No task has that id; use list to see each task's #id.";
+    public static final String ERR_BAD_RANGE = "A range must go from a lower to a higher index (e.g., 3-7).";
+    public static final String ERR_BAD_SELECTOR =
+            "Select tasks by index, range (3-7), #id, all, type:<T|D|E> or find:<keyword>.";
+    public static final String ERR_NO_MATCH = "No tasks match that selection.";
+
+    public static final String ERR_LIST_OPTION =
+            "Unknown list option. Use --page <n>, --offset <n>, --limit <n>, --done, --pending or --type <T|D|E>.";
+    public static final String ERR_LIST_NUMBER = "List page and limit must be positive, and offset non-negative.";
+
     public static final String ERR_FIND_EMPTY = "The keyword for Find cannot be empty.";
 
+    public static final String ERR_DUE_EMPTY = "The dates for Due must be specified (e.g., due 2025-12-01 2025-12-31).";
+    public static final String ERR_ON_EMPTY = "The date for On must be specified (e.g., on 2025-12-31).";
+    public static final String ERR_BAD_DAY = "Please provide a valid date (e.g., 2025-12-31).";
+    public static final String ERR_DAY_RANGE = "The end date must not be before the start date.";
+
+    public static final String ERR_ALIAS_FORMAT =
+            "Use alias <name> <command> to add an alias, alias <name> to remove one, or alias to list them.";
+    public static final String ERR_ALIAS_BUILT_IN = "An alias cannot have the name of a built-in command.";
+    public static final String ERR_ALIAS_TARGET = "An alias must stand for a command or an existing alias.";
+    public static final String ERR_NO_SUCH_ALIAS = "There is no alias by that name.";
+
     public static final String ERR_DUPLICATE_TASK = "That task already exists.";
+    public static final String ERR_ID_ORDER = "Tasks must be added in increasing id order.";
+
+    public static final String ERR_SHUTTING_DOWN = "MangoBot is shutting down, so that command was not run.";
+
+    public static final String ERR_TENANT_NAME =
+            "A tenant name must be 1 to 64 letters, digits, hyphens or underscores.";
 
     /**
      * Constructs a {@code MangoException} with the specified error message.
@@ -0,0 +1,53 @@
+package mango.gui;
+
+/**
+ * One entry in the conversation history, kept as plain data so the view can render it lazily.
+ */
+public final class ChatMessage {
+    private final String text;
+    private final boolean isFromUser;
+
+    private ChatMessage(String text, boolean isFromUser) {
+        assert text != null : "Message text must be non-null";
+        this.text = text;
+        this.isFromUser = isFromUser;
+    }
+
+    /**
+     * Returns a message typed by the user.
+     *
+     * @param text the message text.
+     * @return the chat message.
+     */
+    public static ChatMessage fromUser(String text) {
+        return new ChatMessage(text, true);
+    }
+
+    /**
+     * Returns a message sent by MangoBot.
+     *
+     * @param text the message text.
+     * @return the chat message.
+     */
+    public static ChatMessage fromMangoBot(String text) {
+        return new ChatMessage(text, false);
+    }
+
+    /**
+     * Returns the message text.
+     *
+     * @return the text.
+     */
+    public String getText() {
+        return this.text;
+    }
+
+    /**
+     * Returns whether the user, rather than MangoBot, sent this message.
+     *
+     * @return {@code true} for user messages.
+     */
+    public boolean isFromUser() {
+        return this.isFromUser;
+    }
+}
@@ -1,80 +1,75 @@
 package mango.gui;
 
-import java.io.IOException;
-import java.util.Collections;
-
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
-import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
+import javafx.geometry.Insets;
 import javafx.geometry.Pos;
-import javafx.scene.Node;
 import javafx.scene.control.Label;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
+import javafx.scene.layout.Region;
+import javafx.scene.shape.Circle;
 
 /**
  * Visual component containing a speaker image and a text bubble.
  *
- * <p>Uses FXML to load its structure and styles. Provides factory methods for user
- * and bot dialog styles.</p>
+ * <p>The node tree is built directly in code rather than parsed from FXML, which makes creating
+ * a dialog box cheap. A single instance can be re-pointed at different messages with
+ * {@link #show(String, Image, boolean)}, which lets list cells reuse it.</p>
  */
 public class DialogBox extends HBox {
-    @FXML
-    private Label dialog;
-    @FXML
-    private ImageView displayPicture;
+    private static final double AVATAR_SIZE = 99.0;
+    private static final double PREF_WIDTH = 400.0;
+    private static final Insets PADDING = new Insets(15.0, 5.0, 15.0, 5.0);
+    private static final String BUBBLE_STYLE_CLASS = "bubble";
 
-    private DialogBox(String text, Image img) {
-        assert text != null : "Dialog text must be non-null";
-        assert img != null : "Dialog image must be non-null";
-        try {
-            FXMLLoader fxmlLoader = new FXMLLoader(MainWindow.class.getResource("/view/DialogBox.fxml"));
-            fxmlLoader.setController(this);
-            fxmlLoader.setRoot(this);
-            fxmlLoader.load();
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-
-        dialog.setText(text);
-        displayPicture.setImage(img);
-        assert dialog.getText() != null : "Label text must be set";
-        assert displayPicture.getImage() != null : "ImageView must be set";
-    }
+    private final Label dialog = new Label();
+    private final ImageView displayPicture = new ImageView();
 
     /**
-     * Returns a dialog box styled for the user (image on the right).
-     *
-     * @param text the message text.
-     * @param img the user's avatar image.
-     * @return the configured {@code DialogBox}.
+     * Constructs an empty {@code DialogBox} laid out for a user message.
      */
-    public static DialogBox getUserDialog(String text, Image img) {
-        return new DialogBox(text, img);
+    public DialogBox() {
+        dialog.setWrapText(true);
+        dialog.setMinHeight(Region.USE_PREF_SIZE);
+        dialog.getStyleClass().add(BUBBLE_STYLE_CLASS);
+
+        double radius = AVATAR_SIZE / 2;
+        displayPicture.setFitHeight(AVATAR_SIZE);
+        displayPicture.setFitWidth(AVATAR_SIZE);
+        displayPicture.setPickOnBounds(true);
+        displayPicture.setPreserveRatio(true);
+        displayPicture.setClip(new Circle(radius, radius, radius));
+
+        setAlignment(Pos.TOP_RIGHT);
+        setMaxSize(Double.MAX_VALUE, Double.MAX_VALUE);
+        setPrefWidth(PREF_WIDTH);
+        setPadding(PADDING);
+        getChildren().addAll(dialog, displayPicture);
     }
 
     /**
-     * Returns a dialog box styled for MangoBot (image on the left).
+     * Displays a message in this dialog box.
+     *
+     * <p>User messages show the image on the right; MangoBot messages show it on the left.</p>
      *
-     * @param text the bot's message text.
-     * @param img the bot's avatar image.
-     * @return the configured {@code DialogBox}.
+     * @param text the message text.
+     * @param img the speaker's avatar image.
+     * @param isFromUser whether the user sent the message.
      */
-    public static DialogBox getMangoBotDialog(String text, Image img) {
-        var db = new DialogBox(text, img);
-        db.flip();
-        return db;
-    }
+    public void show(String text, Image img, boolean isFromUser) {
+        assert text != null : "Dialog text must be non-null";
+        assert img != null : "Dialog image must be non-null";
+        dialog.setText(text);
+        displayPicture.setImage(img);
 
-    /**
-     * Flips the dialog so the image is on the left and the text on the right.
-     */
-    private void flip() {
-        ObservableList<Node> tmp = FXCollections.observableArrayList(this.getChildren());
-        Collections.reverse(tmp);
-        getChildren().setAll(tmp);
-        setAlignment(Pos.TOP_LEFT);
+        boolean isImageFirst = getChildren().get(0) == displayPicture;
+        if (isFromUser == isImageFirst) {
+            if (isFromUser) {
+                getChildren().setAll(dialog, displayPicture);
+            } else {
+                getChildren().setAll(displayPicture, dialog);
+            }
+        }
+        setAlignment(isFromUser ? Pos.TOP_RIGHT : Pos.TOP_LEFT);
     }
 }
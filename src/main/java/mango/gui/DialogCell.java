@@ -0,0 +1,48 @@
+package mango.gui;
+
+import javafx.scene.control.Control;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.image.Image;
+
+/**
+ * List cell that renders a {@link ChatMessage} with a single, reused {@link DialogBox}.
+ *
+ * <p>The list view only creates enough cells to fill the viewport and rebinds them to different
+ * messages while scrolling, so the scene graph stays small however long the conversation gets.</p>
+ */
+public class DialogCell extends ListCell<ChatMessage> {
+    private static final double WIDTH_INSET = 20.0;
+
+    private final DialogBox dialogBox = new DialogBox();
+    private final Image userImage;
+    private final Image mangoBotImage;
+
+    /**
+     * Constructs a {@code DialogCell} sized to the width of its list.
+     *
+     * @param listView the list view that owns this cell.
+     * @param userImage the user's avatar image.
+     * @param mangoBotImage MangoBot's avatar image.
+     */
+    public DialogCell(ListView<ChatMessage> listView, Image userImage, Image mangoBotImage) {
+        assert userImage != null && mangoBotImage != null : "Avatar images must be non-null";
+        this.userImage = userImage;
+        this.mangoBotImage = mangoBotImage;
+        prefWidthProperty().bind(listView.widthProperty().subtract(WIDTH_INSET));
+        setMaxWidth(Control.USE_PREF_SIZE);
+    }
+
+    @Override
+    protected void updateItem(ChatMessage message, boolean isEmpty) {
+        super.updateItem(message, isEmpty);
+        setText(null);
+        if (isEmpty || message == null) {
+            setGraphic(null);
+            return;
+        }
+        Image avatar = message.isFromUser() ? userImage : mangoBotImage;
+        dialogBox.show(message.getText(), avatar, message.isFromUser());
+        setGraphic(dialogBox);
+    }
+}
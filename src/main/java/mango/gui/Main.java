@@ -30,6 +30,7 @@ public class Main extends Application {
 
             MangoBot mangoBot = new MangoBot("./data/mango.txt");
             assert mangoBot != null : "MangoBot must be created";
+            mangoBot.closeStorageOnExit();
             fxmlLoader.<MainWindow>getController().setMangoBot(mangoBot);
 
             stage.show();
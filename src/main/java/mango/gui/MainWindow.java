@@ -2,31 +2,47 @@ package mango.gui;
 
 import javafx.animation.PauseTransition;
 import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
-import javafx.scene.control.ScrollPane;
+import javafx.scene.control.ListView;
+import javafx.scene.control.ProgressIndicator;
 import javafx.scene.control.TextField;
 import javafx.scene.image.Image;
 import javafx.scene.layout.AnchorPane;
-import javafx.scene.layout.VBox;
 import javafx.util.Duration;
+import mango.core.CommandQueue;
 import mango.core.MangoBot;
 import mango.ui.Messages;
 
 /**
  * Controller for the main GUI.
+ *
+ * <p>The conversation is kept as a list of {@link ChatMessage}s and shown in a virtualized
+ * {@link ListView}, so only the visible messages have nodes in the scene graph.</p>
+ *
+ * <p>Commands run on a {@link CommandQueue} worker thread rather than the JavaFX application
+ * thread; replies are posted back with {@link Platform#runLater(Runnable)} in submission order.
+ * A progress indicator appears if a command takes longer than a moment.</p>
  */
 public class MainWindow extends AnchorPane {
+    private static final Duration BUSY_INDICATOR_DELAY = Duration.millis(150);
+    private static final Duration EXIT_DELAY = Duration.millis(800);
+
     @FXML
-    private ScrollPane scrollPane;
-    @FXML
-    private VBox dialogContainer;
+    private ListView<ChatMessage> dialogList;
     @FXML
     private TextField userInput;
     @FXML
     private Button sendButton;
+    @FXML
+    private ProgressIndicator busyIndicator;
 
-    private MangoBot mangoBot;
+    private CommandQueue commandQueue;
+    private int pendingCommands;
+    private final PauseTransition busyDelay = new PauseTransition(BUSY_INDICATOR_DELAY);
+    private final ObservableList<ChatMessage> messages = FXCollections.observableArrayList();
 
     private Image userImage = new Image(this.getClass().getResourceAsStream("/images/User.png"));
     private Image mangoBotImage = new Image(this.getClass().getResourceAsStream("/images/MangoBot.png"));
@@ -36,7 +52,9 @@ public class MainWindow extends AnchorPane {
      */
     @FXML
     public void initialize() {
-        scrollPane.vvalueProperty().bind(dialogContainer.heightProperty());
+        dialogList.setItems(messages);
+        dialogList.setCellFactory(list -> new DialogCell(list, userImage, mangoBotImage));
+        busyDelay.setOnFinished(e -> busyIndicator.setVisible(pendingCommands > 0));
     }
 
     /**
@@ -46,42 +64,71 @@ public class MainWindow extends AnchorPane {
      */
     public void setMangoBot(MangoBot mangoBot) {
         assert mangoBot != null : "Injected MangoBot must be non-null";
-        this.mangoBot = mangoBot;
-        dialogContainer.getChildren().add(
-                DialogBox.getMangoBotDialog(Messages.welcome(), mangoBotImage)
-        );
+        this.commandQueue = new CommandQueue(mangoBot);
+        addMessages(ChatMessage.fromMangoBot(Messages.welcome()));
 
         if (mangoBot.getStartupErrorMessage() != null) {
-            dialogContainer.getChildren().add(
-                    DialogBox.getMangoBotDialog(mangoBot.getStartupErrorMessage(), mangoBotImage)
-            );
+            addMessages(ChatMessage.fromMangoBot(mangoBot.getStartupErrorMessage()));
         }
     }
 
     /**
      * Processes the current input submission.
      *
-     * <p>Adds the user's message and MangoBot's reply to the dialog container, then clears
-     * the input field. If the input is {@code "bye"} (case-insensitive), disables the
-     * input controls and quits the application after a short delay.</p>
+     * <p>Shows the user's message immediately, queues it for MangoBot, and clears the input
+     * field; the reply is appended when the command completes. If the input is {@code "bye"}
+     * (case-insensitive), disables the input controls and quits the application shortly after
+     * the reply arrives, once every earlier command has finished.</p>
      */
     @FXML
     private void handleUserInput() {
         String input = userInput.getText();
-        String response = this.mangoBot.respond(input);
-        dialogContainer.getChildren().addAll(
-                DialogBox.getUserDialog(input, userImage),
-                DialogBox.getMangoBotDialog(response, mangoBotImage)
-        );
+        addMessages(ChatMessage.fromUser(input));
         userInput.clear();
 
-        if ("bye".equalsIgnoreCase(input.trim())) {
+        boolean isBye = "bye".equalsIgnoreCase(input.trim());
+        if (isBye) {
             userInput.setDisable(true);
             sendButton.setDisable(true);
+        }
+
+        pendingCommands++;
+        busyDelay.playFromStart();
+        commandQueue.submit(input).whenComplete((response, error) -> Platform.runLater(() -> {
+            String reply = error == null ? response : Messages.error(String.valueOf(error.getMessage()));
+            showReply(reply, isBye);
+        }));
+    }
+
+    /**
+     * Appends a completed reply and updates the busy indicator; runs on the JavaFX thread.
+     *
+     * @param reply MangoBot's reply.
+     * @param isBye whether the reply answers {@code bye}.
+     */
+    private void showReply(String reply, boolean isBye) {
+        pendingCommands--;
+        if (pendingCommands == 0) {
+            busyDelay.stop();
+            busyIndicator.setVisible(false);
+        }
+        addMessages(ChatMessage.fromMangoBot(reply));
 
-            PauseTransition pause = new PauseTransition(Duration.millis(800));
+        if (isBye) {
+            commandQueue.close();
+            PauseTransition pause = new PauseTransition(EXIT_DELAY);
             pause.setOnFinished(e -> Platform.exit());
             pause.play();
         }
     }
+
+    /**
+     * Appends messages to the conversation and scrolls to the newest one.
+     *
+     * @param newMessages the messages to append.
+     */
+    private void addMessages(ChatMessage... newMessages) {
+        messages.addAll(newMessages);
+        dialogList.scrollTo(messages.size() - 1);
+    }
 }
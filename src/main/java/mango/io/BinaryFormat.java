@@ -0,0 +1,277 @@
+package mango.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+import mango.task.Deadline;
+import mango.task.Event;
+import mango.task.Task;
+import mango.task.Todo;
+
+/**
+ * Compact binary encoding of a task list.
+ *
+ * <p>Layout (big-endian):</p>
+ * <pre>
+ * header: int magic ("MNGO"), short version, int record count
+ * record: byte type ('T', 'D' or 'E'), byte flags (bit 0 = done),
+ *         int description length, UTF-8 description bytes,
+ *         then long by (deadlines) or long from, long to (events),
+ *         then long id,
+ *         then int CRC32C of the preceding record bytes
+ * </pre>
+ *
+ * <p>Date/times are stored as minutes since {@code 1970-01-01T00:00}, taken on the local
+ * timeline without a zone, so loading needs no text parsing. Descriptions are length-prefixed
+ * and may therefore contain any characters, including {@code " | "}.</p>
+ */
+public final class BinaryFormat {
+    private static final int MAGIC = 0x4D4E474F;
+    private static final short VERSION = 1;
+    private static final int MAGIC_LENGTH = Integer.BYTES;
+    static final int HEADER_LENGTH = Integer.BYTES + Short.BYTES + Integer.BYTES;
+    static final int RECORD_PREFIX_LENGTH = 2 + Integer.BYTES;
+    static final int CHECKSUM_LENGTH = Integer.BYTES;
+    private static final byte TODO_TYPE = 'T';
+    private static final byte DEADLINE_TYPE = 'D';
+    private static final byte EVENT_TYPE = 'E';
+    private static final byte FLAG_DONE = 1;
+
+    private BinaryFormat() {
+    }
+
+    /**
+     * Returns whether the file starts with the binary format's magic number.
+     *
+     * @param path the file to inspect.
+     * @return {@code true} if the file is in binary format.
+     * @throws IOException if the file cannot be read.
+     */
+    public static boolean isBinary(Path path) throws IOException {
+        if (!Files.exists(path) || Files.size(path) < MAGIC_LENGTH) {
+            return false;
+        }
+        try (InputStream in = Files.newInputStream(path)) {
+            return ByteBuffer.wrap(in.readNBytes(MAGIC_LENGTH)).getInt() == MAGIC;
+        }
+    }
+
+    /**
+     * Writes the tasks to {@code out}, which is flushed but not closed.
+     *
+     * @param out the destination stream.
+     * @param tasks the tasks to write.
+     * @throws IOException if an error occurs while writing.
+     */
+    public static void write(OutputStream out, List<Task> tasks) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeShort(VERSION);
+        data.writeInt(tasks.size());
+        ByteArrayOutputStream recordBytes = new ByteArrayOutputStream();
+        DataOutputStream record = new DataOutputStream(recordBytes);
+        CRC32C crc = new CRC32C();
+        for (Task t : tasks) {
+            recordBytes.reset();
+            writeTask(record, t);
+            byte[] bytes = recordBytes.toByteArray();
+            crc.reset();
+            crc.update(bytes);
+            data.write(bytes);
+            data.writeInt((int) crc.getValue());
+        }
+        data.flush();
+    }
+
+    /**
+     * Reads every intact task from a binary file.
+     *
+     * <p>A record whose checksum fails is skipped. A record that cannot be decoded at all leaves
+     * no way to find the next one, so it and every record after it are skipped.</p>
+     *
+     * @param path the source file.
+     * @param report counts the skipped records.
+     * @return a mutable list of the decoded tasks.
+     * @throws IOException if the file cannot be read or its header is invalid.
+     */
+    public static List<Task> read(Path path, RecoveryReport report) throws IOException {
+        ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(path));
+        int count;
+        try {
+            count = readHeader(in);
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Truncated binary task file: " + path, e);
+        }
+        List<Task> tasks = new ArrayList<>(Math.min(count, in.remaining() / RECORD_PREFIX_LENGTH));
+        for (int i = 0; i < count; i++) {
+            int start = in.position();
+            try {
+                Task t = readTask(in);
+                int end = in.position();
+                if (in.getInt() != Checksums.crc32c(in, start, end - start)) {
+                    report.addSkippedTasks(1);
+                    continue;
+                }
+                tasks.add(t);
+            } catch (IOException | RuntimeException e) {
+                report.addSkippedTasks(count - i);
+                break;
+            }
+        }
+        return tasks;
+    }
+
+    /**
+     * Reads and validates the header at the buffer's position.
+     *
+     * @param in the buffer positioned at the start of the file.
+     * @return the number of records that follow.
+     * @throws IOException if the magic number or version does not match.
+     */
+    static int readHeader(ByteBuffer in) throws IOException {
+        if (in.getInt() != MAGIC) {
+            throw new IOException("Not a binary task file");
+        }
+        short version = in.getShort();
+        if (version != VERSION) {
+            throw new IOException("Unsupported binary task file version: " + version);
+        }
+        int count = in.getInt();
+        if (count < 0) {
+            throw new IOException("Corrupt record count: " + count);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the length of the record at {@code position} without decoding it, excluding its
+     * trailing checksum.
+     *
+     * @param in a buffer holding at least the record's type, flags and length fields.
+     * @param position the absolute position of the record in {@code in}.
+     * @return the record's length in bytes.
+     * @throws IOException if the record's type or length is invalid.
+     */
+    static long recordLength(ByteBuffer in, int position) throws IOException {
+        byte type = in.get(position);
+        int length = in.getInt(position + 2);
+        if (length < 0) {
+            throw new IOException("Corrupt description length: " + length);
+        }
+        int dates = switch (type) {
+            case TODO_TYPE -> 0;
+            case DEADLINE_TYPE -> 1;
+            case EVENT_TYPE -> 2;
+            default -> throw new IOException("Unknown task type: " + (char) type);
+        };
+        return (long) RECORD_PREFIX_LENGTH + length + (long) (dates + 1) * Long.BYTES;
+    }
+
+    /**
+     * Reads the id of the record at {@code position} without decoding the rest of it.
+     *
+     * @param in a buffer holding the whole record.
+     * @param position the absolute position of the record in {@code in}.
+     * @return the stored id, or {@code 0} if it is not positive.
+     * @throws IOException if the record's type or length is invalid.
+     */
+    static long readId(ByteBuffer in, int position) throws IOException {
+        long id = in.getLong(position + (int) recordLength(in, position) - Long.BYTES);
+        return Math.max(0, id);
+    }
+
+    /**
+     * Returns whether the record at {@code position} would decode, without decoding it.
+     *
+     * <p>Only the fields that {@link #readTask(ByteBuffer)} can reject beyond the record's
+     * length are checked: an event whose end is not after its start.</p>
+     *
+     * @param in a buffer holding the whole record.
+     * @param position the absolute position of the record in {@code in}.
+     * @return {@code true} if decoding the record would succeed.
+     */
+    static boolean isDecodable(ByteBuffer in, int position) {
+        if (in.get(position) != EVENT_TYPE) {
+            return true;
+        }
+        int from = position + RECORD_PREFIX_LENGTH + in.getInt(position + 2);
+        return in.getLong(from + Long.BYTES) > in.getLong(from);
+    }
+
+    private static void writeTask(DataOutputStream out, Task t) throws IOException {
+        byte[] description = t.getDescription().getBytes(StandardCharsets.UTF_8);
+        out.writeByte(typeOf(t));
+        out.writeByte(t.isDone() ? FLAG_DONE : 0);
+        out.writeInt(description.length);
+        out.write(description);
+        if (t instanceof Deadline d) {
+            out.writeLong(d.getByMinute());
+        } else if (t instanceof Event e) {
+            out.writeLong(e.getFromMinute());
+            out.writeLong(e.getToMinute());
+        }
+        out.writeLong(t.getId());
+    }
+
+    /**
+     * Decodes the record at the buffer's position and advances past it.
+     *
+     * @param in the buffer positioned at a record.
+     * @return the decoded task.
+     * @throws IOException if the record is invalid.
+     */
+    static Task readTask(ByteBuffer in) throws IOException {
+        byte type = in.get();
+        byte flags = in.get();
+        int length = in.getInt();
+        if (length < 0 || length > in.remaining()) {
+            throw new IOException("Corrupt description length: " + length);
+        }
+        String description;
+        if (in.hasArray()) {
+            description = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+            in.position(in.position() + length);
+        } else {
+            byte[] bytes = new byte[length];
+            in.get(bytes);
+            description = new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        Task task = switch (type) {
+            case TODO_TYPE -> new Todo(description);
+            case DEADLINE_TYPE -> new Deadline(description, in.getLong());
+            case EVENT_TYPE -> new Event(description, in.getLong(), in.getLong());
+            default -> throw new IOException("Unknown task type: " + (char) type);
+        };
+        if ((flags & FLAG_DONE) != 0) {
+            task.markAsDone();
+        }
+        long id = in.getLong();
+        if (id > 0) {
+            task.restoreId(id);
+        }
+        return task;
+    }
+
+    private static byte typeOf(Task t) {
+        if (t instanceof Deadline) {
+            return DEADLINE_TYPE;
+        }
+        if (t instanceof Event) {
+            return EVENT_TYPE;
+        }
+        assert t instanceof Todo : "Unknown task subclass: " + t.getClass();
+        return TODO_TYPE;
+    }
+}
@@ -0,0 +1,117 @@
+package mango.io;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32C;
+
+/**
+ * CRC32C helpers for sealing storage and journal records.
+ *
+ * <p>A sealed text line is the record's checksum as eight lower-case hex digits, a space, and the
+ * record itself. The checksum covers the record's UTF-8 bytes. Lines written before checksums were
+ * introduced start with a one-letter type followed by a space, so they can never be mistaken for
+ * sealed lines and are accepted unverified.</p>
+ */
+final class Checksums {
+    static final int SEAL_LENGTH = 9;
+
+    private static final int HEX_DIGITS = 8;
+    private static final int HEX_RADIX = 16;
+
+    private Checksums() {
+    }
+
+    /**
+     * Returns the CRC32C of {@code length} bytes of {@code buffer} starting at {@code position}.
+     *
+     * @param buffer the bytes to checksum; its position and limit are not changed.
+     * @param position the absolute position of the first byte.
+     * @param length the number of bytes.
+     * @return the checksum.
+     */
+    static int crc32c(ByteBuffer buffer, int position, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.duplicate().limit(position + length).position(position));
+        return (int) crc.getValue();
+    }
+
+    private static int crc32c(String record) {
+        CRC32C crc = new CRC32C();
+        crc.update(record.getBytes(StandardCharsets.UTF_8));
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Prefixes a text record with its checksum.
+     *
+     * @param record the record to seal.
+     * @return the sealed line.
+     */
+    static String seal(String record) {
+        String hex = Integer.toHexString(crc32c(record));
+        return "0".repeat(HEX_DIGITS - hex.length()) + hex + ' ' + record;
+    }
+
+    /**
+     * Returns the record in a text line, verifying its checksum if it has one.
+     *
+     * @param line a sealed or legacy line.
+     * @return the record, or {@code null} if the line is sealed and its checksum does not match.
+     */
+    static String unseal(String line) {
+        if (!isSealed(line)) {
+            return line;
+        }
+        String record = line.substring(SEAL_LENGTH);
+        int expected = Integer.parseUnsignedInt(line, 0, HEX_DIGITS, HEX_RADIX);
+        return expected == crc32c(record) ? record : null;
+    }
+
+    /**
+     * Returns whether the bytes of a line in {@code buffer} start with a checksum.
+     *
+     * @param buffer the buffer holding the line.
+     * @param start the absolute position of the line's first byte.
+     * @param end the absolute position just past the line's last byte.
+     * @return {@code true} for a sealed line.
+     */
+    static boolean isSealed(ByteBuffer buffer, int start, int end) {
+        if (end - start < SEAL_LENGTH || buffer.get(start + HEX_DIGITS) != ' ') {
+            return false;
+        }
+        for (int i = start; i < start + HEX_DIGITS; i++) {
+            if (Character.digit(buffer.get(i), HEX_RADIX) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSealed(String line) {
+        if (line.length() < SEAL_LENGTH || line.charAt(HEX_DIGITS) != ' ') {
+            return false;
+        }
+        for (int i = 0; i < HEX_DIGITS; i++) {
+            if (Character.digit(line.charAt(i), HEX_RADIX) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns whether the sealed line in {@code buffer} matches its checksum.
+     *
+     * @param buffer the buffer holding the line.
+     * @param start the absolute position of the line's first byte; the line must be sealed.
+     * @param end the absolute position just past the line's last byte.
+     * @return {@code true} if the checksum matches.
+     */
+    static boolean isIntact(ByteBuffer buffer, int start, int end) {
+        int expected = 0;
+        for (int i = start; i < start + HEX_DIGITS; i++) {
+            expected = expected * HEX_RADIX + Character.digit(buffer.get(i), HEX_RADIX);
+        }
+        return expected == crc32c(buffer, start + SEAL_LENGTH, end - start - SEAL_LENGTH);
+    }
+}
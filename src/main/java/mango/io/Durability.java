@@ -0,0 +1,18 @@
+package mango.io;
+
+/**
+ * How eagerly journal records are written and forced to disk.
+ */
+public enum Durability {
+    /** Records are buffered and written in groups; the operating system decides when they reach disk. */
+    NONE,
+    /** Records are buffered, then written and forced to disk as a group when a batch fills or the interval ends. */
+    ON_INTERVAL,
+    /** Every record is written and forced to disk before the command that produced it completes. */
+    PER_COMMAND,
+    /**
+     * Records are held until explicitly flushed, then written and forced to disk as one group, and the snapshot is
+     * not compacted until {@link Storage#commit(java.util.List)}; for scripted runs that persist once at the end.
+     */
+    ON_FLUSH
+}
@@ -0,0 +1,43 @@
+package mango.io;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+
+import mango.task.Task;
+
+/**
+ * Command-line tool that converts a storage file between {@link StorageFormat}s.
+ *
+ * <p>Usage: {@code java -cp MangoBot.jar mango.io.FormatConverter <file> <text|binary>}. Any
+ * pending journal entries are folded into the converted snapshot.</p>
+ */
+public class FormatConverter {
+    private static final String USAGE = "Usage: FormatConverter <file> <text|binary>";
+
+    /**
+     * Converts the file named by {@code args[0]} to the format named by {@code args[1]}.
+     *
+     * @throws IOException if the file cannot be read or written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println(USAGE);
+            System.exit(1);
+        }
+        StorageFormat target;
+        try {
+            target = StorageFormat.valueOf(args[1].toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            System.err.println(USAGE);
+            System.exit(1);
+            return;
+        }
+        Storage storage = new Storage(args[0], true);
+        List<Task> tasks = storage.load();
+        StorageFormat source = storage.getFormat();
+        storage.convertTo(target, tasks);
+        System.out.println("Converted " + tasks.size() + " tasks in " + args[0]
+                + " from " + source + " to " + target + ".");
+    }
+}
@@ -0,0 +1,422 @@
+package mango.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import mango.task.Task;
+import mango.task.TaskList;
+
+/**
+ * Append-only write-ahead log of task mutations.
+ *
+ * <p>Each mutation is stored as one short line, so recording a change costs I/O proportional
+ * to the change rather than to the whole list. Replaying the journal over the last snapshot
+ * reproduces the current list. Record formats:</p>
+ * <pre>
+ * A | &lt;task file string&gt;
+ * M | #&lt;id1&gt; [#id2 ...]
+ * U | #&lt;id1&gt; [#id2 ...]
+ * D | #&lt;id1&gt; [#id2 ...]
+ * </pre>
+ *
+ * <p>Tasks are named by their stable {@link Task#getId() id}, so a record means the same thing
+ * however the list has shifted since, and a task the snapshot loader had to skip is simply not
+ * found. An add whose id is already in the list is skipped, so replaying records that a snapshot
+ * already holds ends in the same list. Descriptions in add records are escaped as in
+ * {@link Task#toFileString()}, so they may contain the separator. Each line is sealed with a
+ * checksum (see {@link Checksums}). Replay stops at the first
+ * line that is damaged, torn (no trailing newline) or cannot be applied, and truncates the file
+ * there so later appends do not land after garbage.</p>
+ *
+ * <p>Unless the {@link Durability} is {@link Durability#PER_COMMAND}, appended records are held in
+ * memory and written as one group (group commit) once {@code batchSize} records are pending or
+ * a background flusher's interval elapses, whichever comes first; with {@link Durability#ON_FLUSH}
+ * they wait for {@link #flush()}. {@link #flush()} writes them immediately; records still pending
+ * when the process dies are lost.</p>
+ */
+public class Journal implements AutoCloseable {
+    private static final String SEP = " | ";
+    private static final String ADD = "A";
+    private static final String MARK = "M";
+    private static final String UNMARK = "U";
+    private static final String DELETE = "D";
+    private static final char ID_PREFIX = '#';
+    private static final int OP_LENGTH = 1;
+    private static final String FLUSHER_NAME = "mango-journal-flusher";
+
+    private final Path path;
+    private final Durability durability;
+    private final int batchSize;
+    private final StringBuilder pending = new StringBuilder();
+    private final ScheduledExecutorService flusher;
+    private FileChannel channel;
+    private int pendingCount;
+    private int entryCount;
+    private IOException flushFailure;
+
+    /**
+     * Constructs a {@code Journal} backed by the given file that forces every record to disk as
+     * it is appended.
+     *
+     * @param path the journal file; created lazily on first append.
+     */
+    public Journal(Path path) {
+        this(path, Durability.PER_COMMAND, Duration.ZERO, 1);
+    }
+
+    /**
+     * Constructs a {@code Journal} backed by the given file.
+     *
+     * @param path the journal file; created lazily on first append.
+     * @param durability how eagerly records reach the disk.
+     * @param flushInterval how long a record may stay pending; zero disables the background flusher.
+     * @param batchSize the number of pending records that triggers a write; ignored for
+     *     {@link Durability#PER_COMMAND} and {@link Durability#ON_FLUSH}.
+     */
+    public Journal(Path path, Durability durability, Duration flushInterval, int batchSize) {
+        assert path != null : "Journal path must be non-null";
+        assert durability != null && flushInterval != null : "Durability settings must be non-null";
+        assert batchSize > 0 : "Batch size must be positive";
+        this.path = path;
+        this.durability = durability;
+        this.batchSize = switch (durability) {
+            case PER_COMMAND -> 1;
+            case ON_FLUSH -> Integer.MAX_VALUE;
+            default -> batchSize;
+        };
+        this.entryCount = 0;
+        if (durability == Durability.PER_COMMAND || durability == Durability.ON_FLUSH || flushInterval.isZero()) {
+            this.flusher = null;
+            return;
+        }
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, FLUSHER_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = flushInterval.toMillis();
+        this.flusher.scheduleWithFixedDelay(this::flushInBackground, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Returns how eagerly records reach the disk.
+     *
+     * @return the durability chosen at construction.
+     */
+    public Durability getDurability() {
+        return this.durability;
+    }
+
+    /**
+     * Returns the number of entries written since the last {@link #clear()}.
+     *
+     * @return the entry count.
+     */
+    public int size() {
+        return this.entryCount;
+    }
+
+    /**
+     * Returns the size of the journal file, not counting records still waiting to be flushed.
+     *
+     * @return the file's length in bytes, or {@code 0} if it does not exist yet.
+     * @throws IOException if the size cannot be read.
+     */
+    long fileSize() throws IOException {
+        return Files.exists(this.path) ? Files.size(this.path) : 0;
+    }
+
+    /**
+     * Appends an add record.
+     *
+     * @param t the task that was added.
+     * @throws IOException if the record cannot be written.
+     */
+    public void appendAdd(Task t) throws IOException {
+        assert t != null : "Cannot journal a null task";
+        append(ADD + SEP + t.toFileString());
+    }
+
+    /**
+     * Appends a mark record.
+     *
+     * @param marked the tasks that were marked.
+     * @throws IOException if the record cannot be written.
+     */
+    public void appendMark(List<Task> marked) throws IOException {
+        append(MARK + SEP + joinIds(marked));
+    }
+
+    /**
+     * Appends an unmark record.
+     *
+     * @param unmarked the tasks that were unmarked.
+     * @throws IOException if the record cannot be written.
+     */
+    public void appendUnmark(List<Task> unmarked) throws IOException {
+        append(UNMARK + SEP + joinIds(unmarked));
+    }
+
+    /**
+     * Appends a delete record.
+     *
+     * @param removed the tasks that were removed.
+     * @throws IOException if the record cannot be written.
+     */
+    public void appendDelete(List<Task> removed) throws IOException {
+        append(DELETE + SEP + joinIds(removed));
+    }
+
+    /**
+     * Applies every intact journal record, in order, to {@code tasks}.
+     *
+     * <p>Ids are resolved by binary search, since {@code tasks} is in increasing id order; ids
+     * that are not found belong to tasks the snapshot loader skipped and are ignored.</p>
+     *
+     * @param tasks the snapshot contents to update in place.
+     * @param report receives the number of records discarded.
+     * @throws IOException if the journal cannot be read or truncated.
+     */
+    public void replay(List<Task> tasks, RecoveryReport report) throws IOException {
+        assert tasks != null && report != null : "Replay target and report must be non-null";
+        this.entryCount = 0;
+        if (!Files.exists(path)) {
+            return;
+        }
+        byte[] content = Files.readAllBytes(path);
+        int start = 0;
+        for (int i = 0; i < content.length; i++) {
+            if (content[i] != '\n') {
+                continue;
+            }
+            String record = Checksums.unseal(new String(content, start, i - start, StandardCharsets.UTF_8));
+            if (record == null || !tryApplyRecord(record, tasks)) {
+                break;
+            }
+            this.entryCount++;
+            start = i + 1;
+        }
+        if (start == content.length) {
+            return;
+        }
+        report.addSkippedJournalRecords(countLines(content, start));
+        try (FileChannel file = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            file.truncate(start);
+            file.force(false);
+        }
+    }
+
+    /**
+     * Discards all journal entries, including pending ones, typically after a snapshot has been
+     * written.
+     *
+     * @throws IOException if the journal file cannot be removed.
+     */
+    public synchronized void clear() throws IOException {
+        this.pending.setLength(0);
+        this.pendingCount = 0;
+        this.flushFailure = null;
+        closeChannel();
+        Files.deleteIfExists(path);
+        this.entryCount = 0;
+    }
+
+    /**
+     * Writes all pending records as one group, forcing them to disk unless the durability is
+     * {@link Durability#NONE}.
+     *
+     * @throws IOException if the records cannot be written; they stay pending for the next attempt.
+     */
+    public synchronized void flush() throws IOException {
+        this.flushFailure = null;
+        if (this.pendingCount == 0) {
+            return;
+        }
+        if (this.channel == null) {
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+        }
+        ByteBuffer bytes = StandardCharsets.UTF_8.encode(this.pending.toString());
+        long start = this.channel.size();
+        try {
+            while (bytes.hasRemaining()) {
+                this.channel.write(bytes);
+            }
+            if (this.durability != Durability.NONE) {
+                this.channel.force(false);
+            }
+        } catch (IOException e) {
+            // Drop any partial group so retrying cannot leave a torn record mid-file.
+            this.channel.truncate(start);
+            throw e;
+        }
+        this.pending.setLength(0);
+        this.pendingCount = 0;
+    }
+
+    /**
+     * Flushes pending records and stops the background flusher.
+     *
+     * @throws IOException if the pending records cannot be written.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (this.flusher != null) {
+            this.flusher.shutdown();
+        }
+        try {
+            flush();
+        } finally {
+            closeChannel();
+        }
+    }
+
+    private synchronized void append(String record) throws IOException {
+        this.pending.append(Checksums.seal(record)).append('\n');
+        this.pendingCount++;
+        this.entryCount++;
+        if (this.flushFailure != null || this.pendingCount >= this.batchSize) {
+            flush();
+        }
+    }
+
+    /**
+     * Flushes on the background thread. After a failure, the next append queues its record and
+     * retries the flush at once, reporting the failure if it persists.
+     */
+    private synchronized void flushInBackground() {
+        try {
+            flush();
+        } catch (IOException e) {
+            this.flushFailure = e;
+        }
+    }
+
+    private void closeChannel() throws IOException {
+        if (this.channel != null) {
+            this.channel.close();
+            this.channel = null;
+        }
+    }
+
+    private boolean tryApplyRecord(String record, List<Task> tasks) {
+        try {
+            applyRecord(record, tasks);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            return false;
+        }
+    }
+
+    private void applyRecord(String record, List<Task> tasks) throws IOException {
+        if (!record.startsWith(SEP, OP_LENGTH)) {
+            throw new IOException("Malformed journal record: " + record);
+        }
+        String op = record.substring(0, OP_LENGTH);
+        String payload = record.substring(OP_LENGTH + SEP.length());
+        if (op.equals(ADD)) {
+            addOnce(Task.fromFileString(payload), tasks);
+        } else {
+            applyIdRecord(op, payload, tasks);
+        }
+    }
+
+    /**
+     * Adds a replayed task at its place in id order, unless a task with its id is already there
+     * because the snapshot was written after the record. A task without an id is given the next
+     * one.
+     */
+    private static void addOnce(Task t, List<Task> tasks) {
+        long lastId = tasks.isEmpty() ? 0 : tasks.get(tasks.size() - 1).getId();
+        if (t.getId() == 0) {
+            t.restoreId(lastId + 1);
+        }
+        if (t.getId() > lastId) {
+            tasks.add(t);
+            return;
+        }
+        int low = 0;
+        int high = tasks.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (tasks.get(mid).getId() < t.getId()) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        if (tasks.get(low).getId() != t.getId()) {
+            tasks.add(low, t);
+        }
+    }
+
+    private static void applyIdRecord(String op, String payload, List<Task> tasks) throws IOException {
+        List<Integer> positions = parseIds(payload, tasks);
+        switch (op) {
+            case MARK -> positions.forEach(i -> tasks.get(i).markAsDone());
+            case UNMARK -> positions.forEach(i -> tasks.get(i).markAsNotDone());
+            case DELETE -> {
+                BitSet doomed = new BitSet(tasks.size());
+                positions.forEach(doomed::set);
+                TaskList.removePositions(tasks, doomed);
+            }
+            default -> throw new IOException("Unknown journal operation: " + op);
+        }
+    }
+
+    private static int countLines(byte[] content, int start) {
+        int lines = content[content.length - 1] == '\n' ? 0 : 1;
+        for (int i = start; i < content.length; i++) {
+            lines += content[i] == '\n' ? 1 : 0;
+        }
+        return lines;
+    }
+
+    private static String joinIds(List<Task> affected) {
+        assert affected != null && !affected.isEmpty() : "Affected tasks must not be null or empty";
+        StringBuilder sb = new StringBuilder();
+        for (Task t : affected) {
+            assert t.getId() != 0 : "Journaled tasks must have ids";
+            if (sb.length() > 0) {
+                sb.append(' ');
+            }
+            sb.append(ID_PREFIX).append(t.getId());
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Resolves {@code #}-prefixed ids to positions in {@code tasks}, leaving out ids not found.
+     */
+    private static List<Integer> parseIds(String payload, List<Task> tasks) throws IOException {
+        List<Integer> positions = new ArrayList<>();
+        for (String token : payload.split(" ")) {
+            long id;
+            try {
+                if (token.charAt(0) != ID_PREFIX) {
+                    throw new NumberFormatException();
+                }
+                id = Long.parseLong(token, 1, token.length(), 10);
+            } catch (NumberFormatException | IndexOutOfBoundsException e) {
+                throw new IOException("Malformed journal id: " + token, e);
+            }
+            int position = TaskList.indexOf(tasks, id);
+            if (position >= 0) {
+                positions.add(position);
+            }
+        }
+        return positions;
+    }
+}
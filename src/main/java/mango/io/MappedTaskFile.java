@@ -0,0 +1,258 @@
+package mango.io;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import mango.task.Task;
+
+/**
+ * Read-only memory mapping of a storage file with an index of where each record starts.
+ *
+ * <p>Opening the file scans it once to verify checksums and record offsets, and checks that each
+ * record can be decoded without keeping the result: a text line is parsed, while a binary record
+ * only has the fields checked that decoding would reject. The index keeps twenty bytes per record,
+ * including its id. Damaged records, whether by checksum or by content, are left out of the index
+ * and reported, so {@link #decode(int)} can later turn any indexed record into a {@link Task} on
+ * demand, and {@link #idOf(int)} answers without touching the file.</p>
+ *
+ * <p>A single mapping is limited to 2 GiB, so larger files are mapped as several segments. Each
+ * segment starts at a record boundary and contains only whole records.</p>
+ */
+final class MappedTaskFile {
+    private static final long SEGMENT_SIZE = 1L << 30;
+    private static final int INITIAL_RECORDS = 1024;
+    private static final byte NEWLINE = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+
+    private final StorageFormat format;
+    private final RecoveryReport report;
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+    private final List<Long> segmentStarts = new ArrayList<>();
+    private long[] recordStarts = new long[INITIAL_RECORDS];
+    private int[] recordSegments = new int[INITIAL_RECORDS];
+    private long[] recordIds = new long[INITIAL_RECORDS];
+    private int recordCount;
+
+    private MappedTaskFile(StorageFormat format, RecoveryReport report) {
+        this.format = format;
+        this.report = report;
+    }
+
+    /**
+     * Maps {@code path} and indexes its records.
+     *
+     * @param path the storage file.
+     * @param format the format the file is written in.
+     * @param report counts the damaged records.
+     * @return the indexed mapping.
+     * @throws IOException if the file cannot be mapped or its header is invalid.
+     */
+    static MappedTaskFile open(Path path, StorageFormat format, RecoveryReport report) throws IOException {
+        MappedTaskFile file = new MappedTaskFile(format, report);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (format == StorageFormat.BINARY) {
+                file.indexBinary(channel);
+            } else {
+                file.indexText(channel);
+            }
+        }
+        return file;
+    }
+
+    /**
+     * Returns the number of records in the file.
+     *
+     * @return the record count.
+     */
+    int size() {
+        return this.recordCount;
+    }
+
+    /**
+     * Decodes one record.
+     *
+     * @param record the zero-based record number.
+     * @return the decoded task.
+     * @throws UncheckedIOException if the record is corrupt.
+     */
+    Task decode(int record) {
+        assert record >= 0 && record < this.recordCount : "Record out of range: " + record;
+        ByteBuffer segment = this.segments.get(this.recordSegments[record]).duplicate();
+        int position = (int) (this.recordStarts[record] - this.segmentStarts.get(this.recordSegments[record]));
+        try {
+            if (this.format == StorageFormat.BINARY) {
+                return BinaryFormat.readTask(segment.position(position));
+            }
+            // The checksum was verified when the file was opened.
+            return Task.fromFileString(readRecord(segment, position, lineEnd(segment, position)));
+        } catch (IOException | RuntimeException e) {
+            throw new UncheckedIOException(
+                    new IOException("Corrupt record " + record + " at byte " + this.recordStarts[record], e));
+        }
+    }
+
+    /**
+     * Returns one record's id, as read when the file was opened.
+     *
+     * @param record the zero-based record number.
+     * @return the stored id, or {@code 0} if the record has none.
+     */
+    long idOf(int record) {
+        assert record >= 0 && record < this.recordCount : "Record out of range: " + record;
+        return this.recordIds[record];
+    }
+
+    private void indexText(FileChannel channel) throws IOException {
+        long fileSize = channel.size();
+        long segmentStart = 0;
+        while (segmentStart < fileSize) {
+            long length = Math.min(SEGMENT_SIZE, fileSize - segmentStart);
+            boolean isLast = segmentStart + length == fileSize;
+            MappedByteBuffer segment = map(channel, segmentStart, length);
+            int lineStart = 0;
+            for (int i = 0; i < length; i++) {
+                if (segment.get(i) == NEWLINE) {
+                    addLine(segment, segmentStart, lineStart, i);
+                    lineStart = i + 1;
+                }
+            }
+            if (isLast) {
+                addLine(segment, segmentStart, lineStart, (int) length);
+                return;
+            }
+            if (lineStart == 0) {
+                throw new IOException("Line longer than " + SEGMENT_SIZE + " bytes at byte " + segmentStart);
+            }
+            segmentStart += lineStart;
+        }
+    }
+
+    private void addLine(ByteBuffer segment, long segmentStart, int lineStart, int lineEnd) {
+        if (lineEnd > lineStart && segment.get(lineEnd - 1) == CARRIAGE_RETURN) {
+            lineEnd--;
+        }
+        if (lineEnd == lineStart) {
+            return;
+        }
+        if (Checksums.isSealed(segment, lineStart, lineEnd) && !Checksums.isIntact(segment, lineStart, lineEnd)) {
+            this.report.addSkippedTasks(1);
+            return;
+        }
+        long id;
+        try {
+            id = Task.fromFileString(readRecord(segment, lineStart, lineEnd)).getId();
+        } catch (IOException | RuntimeException e) {
+            this.report.addSkippedTasks(1);
+            return;
+        }
+        addRecord(segmentStart + lineStart, id);
+    }
+
+    private void indexBinary(FileChannel channel) throws IOException {
+        long fileSize = channel.size();
+        if (fileSize < BinaryFormat.HEADER_LENGTH) {
+            throw new IOException("Truncated binary task file header");
+        }
+        MappedByteBuffer header = map(channel, 0, BinaryFormat.HEADER_LENGTH);
+        int count = BinaryFormat.readHeader(header);
+        int capacity = (int) Math.max(1, Math.min(count, fileSize / BinaryFormat.RECORD_PREFIX_LENGTH));
+        this.recordStarts = new long[capacity];
+        this.recordSegments = new int[capacity];
+        this.recordIds = new long[capacity];
+
+        long segmentStart = BinaryFormat.HEADER_LENGTH;
+        long offset = segmentStart;
+        MappedByteBuffer segment = null;
+        for (int i = 0; i < count; i++) {
+            long length;
+            try {
+                length = segment == null ? -1 : recordLengthWithin(segment, offset - segmentStart);
+                if (length < 0 && offset < fileSize) {
+                    segmentStart = offset;
+                    segment = map(channel, segmentStart, Math.min(SEGMENT_SIZE, fileSize - segmentStart));
+                    length = recordLengthWithin(segment, 0);
+                }
+            } catch (IOException e) {
+                length = -1;
+            }
+            if (length < 0) {
+                // Without a valid length there is no way to find the next record.
+                this.report.addSkippedTasks(count - i);
+                return;
+            }
+            int start = (int) (offset - segmentStart);
+            int dataLength = (int) length - BinaryFormat.CHECKSUM_LENGTH;
+            if (segment.getInt(start + dataLength) != Checksums.crc32c(segment, start, dataLength)
+                    || !BinaryFormat.isDecodable(segment, start)) {
+                this.report.addSkippedTasks(1);
+            } else {
+                addRecord(offset, BinaryFormat.readId(segment, start));
+            }
+            offset += length;
+        }
+    }
+
+    /**
+     * Returns the length of the record at {@code position}, including its checksum, if it lies
+     * entirely within the segment, or {@code -1} if it extends past the segment's end.
+     */
+    private long recordLengthWithin(ByteBuffer segment, long position) throws IOException {
+        if (position + BinaryFormat.RECORD_PREFIX_LENGTH > segment.limit()) {
+            return -1;
+        }
+        long length = BinaryFormat.recordLength(segment, (int) position) + BinaryFormat.CHECKSUM_LENGTH;
+        return position + length > segment.limit() ? -1 : length;
+    }
+
+    private MappedByteBuffer map(FileChannel channel, long start, long length) throws IOException {
+        MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+        this.segments.add(segment);
+        this.segmentStarts.add(start);
+        return segment;
+    }
+
+    private void addRecord(long start, long id) {
+        if (this.recordCount == this.recordStarts.length) {
+            int capacity = this.recordCount + (this.recordCount >> 1);
+            this.recordStarts = Arrays.copyOf(this.recordStarts, capacity);
+            this.recordSegments = Arrays.copyOf(this.recordSegments, capacity);
+            this.recordIds = Arrays.copyOf(this.recordIds, capacity);
+        }
+        this.recordStarts[this.recordCount] = start;
+        this.recordSegments[this.recordCount] = this.segments.size() - 1;
+        this.recordIds[this.recordCount] = id;
+        this.recordCount++;
+    }
+
+    private static int lineEnd(ByteBuffer segment, int start) {
+        int end = start;
+        while (end < segment.limit() && segment.get(end) != NEWLINE) {
+            end++;
+        }
+        if (end > start && segment.get(end - 1) == CARRIAGE_RETURN) {
+            end--;
+        }
+        return end;
+    }
+
+    /**
+     * Returns the text of the line in {@code [start, end)} without its checksum, if it has one.
+     */
+    private static String readRecord(ByteBuffer segment, int start, int end) {
+        if (Checksums.isSealed(segment, start, end)) {
+            start += Checksums.SEAL_LENGTH;
+        }
+        byte[] bytes = new byte[end - start];
+        segment.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,48 @@
+package mango.io;
+
+/**
+ * Summary of what {@link Storage} had to skip while loading damaged files.
+ *
+ * <p>Snapshot records whose checksum fails, or that cannot be decoded, are skipped individually.
+ * The journal is replayed up to its first damaged record; that record and everything after it is
+ * discarded, since later records may depend on it.</p>
+ */
+public final class RecoveryReport {
+    private int skippedTasks;
+    private int skippedJournalRecords;
+
+    /**
+     * Returns the number of snapshot records that were skipped.
+     *
+     * @return the skipped task count.
+     */
+    public int getSkippedTasks() {
+        return this.skippedTasks;
+    }
+
+    /**
+     * Returns the number of journal records that were discarded.
+     *
+     * @return the discarded journal record count.
+     */
+    public int getSkippedJournalRecords() {
+        return this.skippedJournalRecords;
+    }
+
+    /**
+     * Returns whether everything loaded without skipping anything.
+     *
+     * @return {@code true} if nothing was skipped.
+     */
+    public boolean isClean() {
+        return this.skippedTasks == 0 && this.skippedJournalRecords == 0;
+    }
+
+    void addSkippedTasks(int count) {
+        this.skippedTasks += count;
+    }
+
+    void addSkippedJournalRecords(int count) {
+        this.skippedJournalRecords += count;
+    }
+}
@@ -1,24 +1,75 @@
 package mango.io;
 
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
+import mango.task.LazyTaskList;
 import mango.task.Task;
+import mango.task.TaskList;
 
 /**
  * Persists tasks to disk and restores them from a file.
  *
  * <p>Ensures that the storage file and its parent directories exist.</p>
+ *
+ * <p>In journaled mode, each mutation is appended to a {@link Journal} next to the storage
+ * file instead of rewriting the whole file. The storage file then acts as a snapshot that is
+ * rewritten (compacted) only once every {@value #COMPACTION_THRESHOLD} journal entries. The
+ * {@link Durability} chosen at construction controls whether journal records are written per
+ * command or buffered and group-committed; {@link #flush()} writes anything still buffered. With
+ * {@link Durability#ON_FLUSH}, nothing is written and no snapshot is compacted until
+ * {@link #commit(List)}, so a script of thousands of commands costs one write.</p>
+ *
+ * <p>The snapshot is written as text or in {@link BinaryFormat}. The format is detected from the
+ * file on load and kept for subsequent saves; {@link #convertTo(StorageFormat, List)} switches it.
+ * The journal is always text.</p>
+ *
+ * <p>Snapshots are written to a temporary file, forced to disk and atomically renamed over the
+ * storage file, so a crash leaves either the old or the new snapshot intact. Every snapshot and
+ * journal record carries a CRC32C; loading skips damaged records instead of failing, notes them
+ * in {@link #getRecoveryReport()}, and immediately rewrites the snapshot without them.</p>
+ *
+ * <p>{@link #loadLazily()} memory-maps the snapshot and returns a {@link LazyTaskList} that
+ * decodes each task on first access, so startup cost does not grow with the number of tasks.</p>
+ *
+ * <p>User-defined command aliases are kept in a small text file next to the storage file and
+ * rewritten in full, the same atomic way as a snapshot, whenever they change.</p>
  */
-public class Storage {
+public class Storage implements AutoCloseable {
+    /** Default longest time a buffered journal record waits before it is written. */
+    public static final Duration DEFAULT_FLUSH_INTERVAL = Duration.ofMillis(200);
+    /** Default number of buffered journal records that triggers a group commit. */
+    public static final int DEFAULT_BATCH_SIZE = 256;
+
+    private static final String JOURNAL_SUFFIX = ".journal";
+    private static final String ALIASES_SUFFIX = ".aliases";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final String ALIAS_SEPARATOR = " | ";
+    private static final int COMPACTION_THRESHOLD = 1000;
+
     private final Path filePath;
+    private final Journal journal;
+    private StorageFormat format;
+    private RecoveryReport recoveryReport = new RecoveryReport();
 
     /**
-     * Constructs a {@code Storage} object for the given file path.
+     * Constructs a {@code Storage} object for the given file path that rewrites the whole file
+     * on every change.
      *
      * <p>The file and directories are created if they do not exist.</p>
      *
@@ -26,8 +77,53 @@ public class Storage {
      * @throws IOException if an error occurs during file initialization.
      */
     public Storage(String filePath) throws IOException {
+        this(filePath, false);
+    }
+
+    /**
+     * Constructs a {@code Storage} object for the given file path.
+     *
+     * <p>The file and directories are created if they do not exist. A journal, if used, forces
+     * every record to disk as it is written.</p>
+     *
+     * @param filePath the path of the storage file.
+     * @param isJournaled whether mutations are appended to a journal instead of rewriting the file.
+     * @throws IOException if an error occurs during file initialization.
+     */
+    public Storage(String filePath, boolean isJournaled) throws IOException {
+        this(filePath, isJournaled ? new Journal(Paths.get(filePath + JOURNAL_SUFFIX)) : null);
+    }
+
+    /**
+     * Constructs a journaled {@code Storage} object with the default flush interval and batch size.
+     *
+     * @param filePath the path of the storage file.
+     * @param durability how eagerly journal records reach the disk.
+     * @throws IOException if an error occurs during file initialization.
+     */
+    public Storage(String filePath, Durability durability) throws IOException {
+        this(filePath, durability, DEFAULT_FLUSH_INTERVAL, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Constructs a journaled {@code Storage} object.
+     *
+     * @param filePath the path of the storage file.
+     * @param durability how eagerly journal records reach the disk.
+     * @param flushInterval how long a buffered record may wait; zero flushes only on batch size.
+     * @param batchSize the number of buffered records that triggers a group commit.
+     * @throws IOException if an error occurs during file initialization.
+     */
+    public Storage(String filePath, Durability durability, Duration flushInterval, int batchSize)
+            throws IOException {
+        this(filePath, new Journal(Paths.get(filePath + JOURNAL_SUFFIX), durability, flushInterval, batchSize));
+    }
+
+    private Storage(String filePath, Journal journal) throws IOException {
         this.filePath = Paths.get(filePath);
+        this.journal = journal;
         this.init();
+        this.format = detectFormat();
         assert Files.exists(this.filePath) : "Storage file must exist after init()";
     }
 
@@ -47,40 +143,365 @@ public class Storage {
     }
 
     /**
-     * Loads tasks from the storage file.
+     * Loads tasks from the storage file, replaying the journal on top of it in journaled mode.
+     *
+     * <p>Damaged records are skipped and listed in {@link #getRecoveryReport()}.</p>
      *
      * @return a list of tasks loaded from the file.
      * @throws IOException if an error occurs while reading the file.
      */
     public List<Task> load() throws IOException {
+        this.recoveryReport = new RecoveryReport();
         List<Task> tasks = new ArrayList<>();
         if (!Files.exists(filePath)) {
             return tasks;
         }
-        for (String line : Files.readAllLines(filePath)) {
-            assert line != null : "Read line must be non-null";
-            tasks.add(Task.fromFileString(line));
+        this.format = detectFormat();
+        if (format == StorageFormat.BINARY) {
+            tasks.addAll(BinaryFormat.read(filePath, recoveryReport));
+        } else {
+            readText(tasks);
         }
+        recover(tasks);
         assert tasks != null : "Never return null";
         return tasks;
     }
 
     /**
-     * Saves the given tasks to the storage file.
+     * Maps the storage file and returns its tasks without decoding them, replaying the journal on
+     * top in journaled mode.
+     *
+     * <p>Checksums are verified and every record is checked to decode while mapping; damaged or
+     * undecodable records are skipped as in {@link #load()}. Only the tasks the journal touches
+     * are kept decoded here; the rest are decoded again when first read.</p>
+     *
+     * @return a lazily decoded list of the stored tasks.
+     * @throws IOException if the file cannot be mapped, its header is invalid, or the journal
+     *     cannot be replayed.
+     */
+    public LazyTaskList loadLazily() throws IOException {
+        this.recoveryReport = new RecoveryReport();
+        this.format = detectFormat();
+        MappedTaskFile file = MappedTaskFile.open(filePath, format, recoveryReport);
+        LazyTaskList tasks = new LazyTaskList(file.size(), file::decode, file::idOf);
+        recover(tasks);
+        return tasks;
+    }
+
+    /**
+     * Returns what the last load had to skip.
+     *
+     * @return the recovery report; clean if nothing was skipped or nothing has been loaded.
+     */
+    public RecoveryReport getRecoveryReport() {
+        return this.recoveryReport;
+    }
+
+    /**
+     * Saves the given tasks to the storage file as a full snapshot and clears the journal.
+     *
+     * <p>The snapshot is written to a temporary file and forced to disk before it atomically
+     * replaces the storage file. A crash after that but before the journal is cleared leaves
+     * records the snapshot already holds; replaying them is harmless, because adds already present
+     * are skipped, ids no longer present are ignored, and marks set the same final status.</p>
      *
      * @param tasks the list of tasks to save.
      * @throws IOException if an error occurs while writing to the file.
      */
     public void save(List<Task> tasks) throws IOException {
         assert tasks != null : "Null list should not be saved";
-        Files.write(filePath,
-                tasks.stream()
-                        .peek(t -> {
-                            assert t != null : "Cannot save null task";
-                        })
-                        .map(t -> t.toFileString())
-                        .toList()
-        );
+        if (tasks instanceof LazyTaskList lazy) {
+            // Records still undecoded live in the mapping of the file about to be replaced.
+            lazy.materializeAll();
+        }
+        Path temp = filePath.resolveSibling(filePath.getFileName() + TEMP_SUFFIX);
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel));
+            if (format == StorageFormat.BINARY) {
+                BinaryFormat.write(out, tasks);
+            } else {
+                writeText(out, tasks);
+            }
+            out.flush();
+            channel.force(true);
+        }
+        replaceWith(temp, filePath);
         assert Files.exists(filePath) : "File must exist after write";
+        if (journal != null) {
+            journal.clear();
+        }
+    }
+
+    /**
+     * Returns the format the snapshot file is written in.
+     *
+     * @return the current storage format.
+     */
+    public StorageFormat getFormat() {
+        return this.format;
+    }
+
+    /**
+     * Rewrites the snapshot in the given format; later saves keep using it.
+     *
+     * @param target the format to convert to.
+     * @param tasks the full current list.
+     * @throws IOException if an error occurs while writing.
+     */
+    public void convertTo(StorageFormat target, List<Task> tasks) throws IOException {
+        assert target != null : "Target format must be non-null";
+        this.format = target;
+        save(tasks);
+    }
+
+    /**
+     * Records that a task was appended to the list.
+     *
+     * @param added the task that was added.
+     * @param tasks the full list after the change, used when a snapshot is due.
+     * @throws IOException if an error occurs while writing.
+     */
+    public void recordAdd(Task added, List<Task> tasks) throws IOException {
+        if (journal == null) {
+            save(tasks);
+            return;
+        }
+        journal.appendAdd(added);
+        compactIfDue(tasks);
+    }
+
+    /**
+     * Records that the given tasks were marked as done.
+     *
+     * @param marked the tasks that were marked.
+     * @param tasks the full list after the change, used when a snapshot is due.
+     * @throws IOException if an error occurs while writing.
+     */
+    public void recordMark(List<Task> marked, List<Task> tasks) throws IOException {
+        if (journal == null) {
+            save(tasks);
+            return;
+        }
+        journal.appendMark(marked);
+        compactIfDue(tasks);
+    }
+
+    /**
+     * Records that the given tasks were marked as not done.
+     *
+     * @param unmarked the tasks that were unmarked.
+     * @param tasks the full list after the change, used when a snapshot is due.
+     * @throws IOException if an error occurs while writing.
+     */
+    public void recordUnmark(List<Task> unmarked, List<Task> tasks) throws IOException {
+        if (journal == null) {
+            save(tasks);
+            return;
+        }
+        journal.appendUnmark(unmarked);
+        compactIfDue(tasks);
+    }
+
+    /**
+     * Records that the given tasks were deleted.
+     *
+     * @param removed the tasks that were removed.
+     * @param tasks the full list after the change, used when a snapshot is due.
+     * @throws IOException if an error occurs while writing.
+     */
+    public void recordDelete(List<Task> removed, List<Task> tasks) throws IOException {
+        if (journal == null) {
+            save(tasks);
+            return;
+        }
+        journal.appendDelete(removed);
+        compactIfDue(tasks);
+    }
+
+    /**
+     * Loads the saved command aliases.
+     *
+     * <p>Damaged lines are skipped.</p>
+     *
+     * @return each alias and the keyword it stands for, in saved order; empty if none are saved.
+     * @throws IOException if an error occurs while reading the file.
+     */
+    public Map<String, String> loadAliases() throws IOException {
+        Map<String, String> aliases = new LinkedHashMap<>();
+        Path path = aliasesPath();
+        if (!Files.exists(path)) {
+            return aliases;
+        }
+        for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+            String record = Checksums.unseal(line);
+            int separator = record == null ? -1 : record.indexOf(ALIAS_SEPARATOR);
+            if (separator > 0) {
+                aliases.put(record.substring(0, separator), record.substring(separator + ALIAS_SEPARATOR.length()));
+            }
+        }
+        return aliases;
+    }
+
+    /**
+     * Replaces the saved command aliases.
+     *
+     * @param aliases each alias and the keyword it stands for.
+     * @throws IOException if an error occurs while writing the file.
+     */
+    public void saveAliases(Map<String, String> aliases) throws IOException {
+        assert aliases != null : "Aliases must be non-null";
+        Path path = aliasesPath();
+        Path temp = path.resolveSibling(path.getFileName() + TEMP_SUFFIX);
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel));
+            for (Map.Entry<String, String> alias : aliases.entrySet()) {
+                String record = alias.getKey() + ALIAS_SEPARATOR + alias.getValue();
+                out.write(Checksums.seal(record).getBytes(StandardCharsets.UTF_8));
+                out.write('\n');
+            }
+            out.flush();
+            channel.force(true);
+        }
+        replaceWith(temp, path);
+    }
+
+    /**
+     * Writes any buffered journal records to disk.
+     *
+     * @throws IOException if an error occurs while writing.
+     */
+    public void flush() throws IOException {
+        if (journal != null) {
+            journal.flush();
+        }
+    }
+
+    /**
+     * Returns how many bytes the snapshot and journal take on disk, which bounds what a load maps
+     * and replays.
+     *
+     * @return the combined file size in bytes.
+     * @throws IOException if a size cannot be read.
+     */
+    long storedBytes() throws IOException {
+        long bytes = Files.exists(filePath) ? Files.size(filePath) : 0;
+        return journal == null ? bytes : bytes + journal.fileSize();
+    }
+
+    /**
+     * Writes any buffered journal records, first folding the journal into a fresh snapshot instead
+     * if it has grown past the compaction threshold.
+     *
+     * @param tasks the full current list.
+     * @throws IOException if an error occurs while writing.
+     */
+    public void commit(List<Task> tasks) throws IOException {
+        if (journal != null && journal.size() >= COMPACTION_THRESHOLD) {
+            save(tasks);
+            return;
+        }
+        flush();
+    }
+
+    /**
+     * Writes any buffered journal records and stops background flushing.
+     *
+     * @throws IOException if an error occurs while writing.
+     */
+    @Override
+    public void close() throws IOException {
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    private void readText(List<Task> tasks) throws IOException {
+        String content = new String(Files.readAllBytes(filePath), StandardCharsets.UTF_8);
+        for (String line : content.lines().toList()) {
+            if (line.isEmpty()) {
+                continue;
+            }
+            String record = Checksums.unseal(line);
+            try {
+                if (record == null) {
+                    throw new IOException("Checksum mismatch");
+                }
+                tasks.add(Task.fromFileString(record));
+            } catch (IOException | RuntimeException e) {
+                recoveryReport.addSkippedTasks(1);
+            }
+        }
+    }
+
+    private static void writeText(OutputStream out, List<Task> tasks) throws IOException {
+        for (Task t : tasks) {
+            assert t != null : "Cannot save null task";
+            out.write(Checksums.seal(t.toFileString()).getBytes(StandardCharsets.UTF_8));
+            out.write('\n');
+        }
+    }
+
+    private Path aliasesPath() {
+        return filePath.resolveSibling(filePath.getFileName() + ALIASES_SUFFIX);
+    }
+
+    /**
+     * Moves a fully written temporary file over its target, atomically where supported, and
+     * forces the directory entry to disk where the platform allows it.
+     */
+    private static void replaceWith(Path temp, Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        Path parent = target.toAbsolutePath().getParent();
+        try (FileChannel directory = FileChannel.open(parent, StandardOpenOption.READ)) {
+            directory.force(true);
+        } catch (IOException e) {
+            // Some platforms cannot open or sync a directory; the rename itself has still happened.
+        }
+    }
+
+    /**
+     * Replays the journal over freshly loaded tasks and writes a clean snapshot if snapshot
+     * records were skipped, or if tasks had to be given ids.
+     *
+     * <p>Every snapshot id is checked, not just the ends: a single task without one, such as a
+     * legacy line whose description contained the separator, would break the binary search by id.
+     * A lazily loaded list reads the stored ids without decoding its tasks.</p>
+     */
+    private void recover(List<Task> tasks) throws IOException {
+        // Repair ids before replaying, so journal records resolve to the ids the last session
+        // assigned in memory when it loaded the same file.
+        boolean isRepaired = !TaskList.hasIncreasingIds(tasks) && TaskList.assignMissingIds(tasks);
+        if (journal != null) {
+            journal.replay(tasks, recoveryReport);
+        }
+        if (isRepaired || recoveryReport.getSkippedTasks() > 0) {
+            save(tasks);
+        }
+    }
+
+    private StorageFormat detectFormat() throws IOException {
+        return BinaryFormat.isBinary(filePath) ? StorageFormat.BINARY : StorageFormat.TEXT;
+    }
+
+    /**
+     * Folds the journal into a fresh snapshot once it has grown past the threshold, unless
+     * compaction is left to {@link #commit(List)}.
+     *
+     * <p>The snapshot is written before the journal is cleared, so a failed write leaves the
+     * previous snapshot and the full journal intact.</p>
+     *
+     * @param tasks the full current list.
+     * @throws IOException if an error occurs while writing the snapshot.
+     */
+    private void compactIfDue(List<Task> tasks) throws IOException {
+        if (journal.getDurability() != Durability.ON_FLUSH && journal.size() >= COMPACTION_THRESHOLD) {
+            save(tasks);
+        }
     }
 }
@@ -0,0 +1,11 @@
+package mango.io;
+
+/**
+ * On-disk encodings supported for the storage snapshot file.
+ */
+public enum StorageFormat {
+    /** One {@code |}-separated line per task, see {@link mango.task.Task#toFileString()}. */
+    TEXT,
+    /** Compact length-prefixed records, see {@link BinaryFormat}. */
+    BINARY
+}
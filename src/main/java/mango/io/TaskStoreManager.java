@@ -0,0 +1,295 @@
+package mango.io;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import mango.exception.MangoException;
+import mango.task.TaskList;
+
+/**
+ * Keeps the task lists of many tenants, each in its own file, with only the recently used ones
+ * loaded.
+ *
+ * <p>Tenant {@code alice} is stored at {@code <dataDir>/<shard>/alice.txt}, where the shard is two
+ * hex digits derived from the name, so no directory holds more than a fraction of the files. A
+ * list is loaded lazily through {@link Storage} the first time it is acquired and stays cached
+ * until the cache outgrows its budget. The budget is an estimate in bytes: each cached list weighs
+ * the size of its snapshot and journal files when it was loaded, known without decoding a task,
+ * plus a configurable number of bytes for each task and one more for the list itself, so many
+ * small or empty lists also count. When a list is acquired and the cache is over budget, the least
+ * recently acquired lists are committed, closed and dropped until it fits again; the list just
+ * acquired is never evicted, even if it alone exceeds the budget.</p>
+ *
+ * <p>Weights are taken at each acquisition, so a list that grows while in use is accounted for
+ * the next time any list is acquired. A {@link TaskStore} must not be used after a later
+ * acquisition may have evicted it; acquire it again instead.</p>
+ *
+ * <p>Like {@link TaskList}, the manager is not thread-safe; drive it from one thread, such as the
+ * worker behind a command queue.</p>
+ */
+public final class TaskStoreManager implements AutoCloseable {
+    private static final Pattern TENANT_NAME = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+    private static final String FILE_EXTENSION = ".txt";
+    private static final int SHARD_COUNT = 256;
+    /** Rough heap cost of one decoded task and its slot in the list, excluding its text. */
+    private static final long DEFAULT_BYTES_PER_TASK = 96;
+
+    private final Path dataDir;
+    private final Durability durability;
+    private final long maxCachedBytes;
+    private final long bytesPerTask;
+    // In access order, so the first entry is the least recently acquired.
+    private final LinkedHashMap<String, TaskStore> cache = new LinkedHashMap<>(16, 0.75f, true);
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    /**
+     * Constructs a {@code TaskStoreManager} over a data directory with the default per-task estimate.
+     *
+     * @param dataDir the directory holding the shard directories; created on first use.
+     * @param durability how eagerly each tenant's changes are written to disk.
+     * @param maxCachedBytes the estimated bytes, across all loaded lists, to keep in memory.
+     */
+    public TaskStoreManager(Path dataDir, Durability durability, long maxCachedBytes) {
+        this(dataDir, durability, maxCachedBytes, DEFAULT_BYTES_PER_TASK);
+    }
+
+    /**
+     * Constructs a {@code TaskStoreManager} over a data directory.
+     *
+     * @param dataDir the directory holding the shard directories; created on first use.
+     * @param durability how eagerly each tenant's changes are written to disk.
+     * @param maxCachedBytes the estimated bytes, across all loaded lists, to keep in memory.
+     * @param bytesPerTask the bytes each task, and each list, adds to its list's weight.
+     */
+    public TaskStoreManager(Path dataDir, Durability durability, long maxCachedBytes, long bytesPerTask) {
+        assert dataDir != null && durability != null : "Data directory and durability must be non-null";
+        assert maxCachedBytes > 0 : "Cache budget must be positive";
+        assert bytesPerTask >= 0 : "Per-task estimate cannot be negative";
+        this.dataDir = dataDir;
+        this.durability = durability;
+        this.maxCachedBytes = maxCachedBytes;
+        this.bytesPerTask = bytesPerTask;
+    }
+
+    /**
+     * Returns the loaded task list of a tenant, loading it first if it is not cached, and evicts
+     * other lists if the cache is now over budget.
+     *
+     * @param tenant the tenant's name.
+     * @return the tenant's store, valid until a later acquisition evicts it.
+     * @throws IllegalArgumentException if the name is not a valid tenant name.
+     * @throws IOException if the tenant's file cannot be opened, or an evicted list cannot be committed.
+     */
+    public TaskStore acquire(String tenant) throws IOException {
+        if (tenant == null || !TENANT_NAME.matcher(tenant).matches()) {
+            throw new IllegalArgumentException(MangoException.ERR_TENANT_NAME);
+        }
+        TaskStore store = this.cache.get(tenant);
+        if (store != null) {
+            this.hitCount++;
+        } else {
+            this.missCount++;
+            store = TaskStore.open(tenant, pathOf(tenant).toString(), this.durability);
+            this.cache.put(tenant, store);
+        }
+        evictUntilWithinBudget(store);
+        return store;
+    }
+
+    /**
+     * Returns the file a tenant's tasks are stored in.
+     *
+     * @param tenant a valid tenant name.
+     * @return {@code <dataDir>/<shard>/<tenant>.txt}.
+     */
+    public Path pathOf(String tenant) {
+        String shard = String.format("%02x", Math.floorMod(tenant.hashCode(), SHARD_COUNT));
+        return this.dataDir.resolve(shard).resolve(tenant + FILE_EXTENSION);
+    }
+
+    /**
+     * Commits every cached list to disk, keeping them loaded.
+     *
+     * @throws IOException if a list cannot be committed.
+     */
+    public void flushAll() throws IOException {
+        for (TaskStore store : this.cache.values()) {
+            store.commit();
+        }
+    }
+
+    /**
+     * Commits and closes every cached list and empties the cache.
+     *
+     * @throws IOException if a list cannot be committed; the remaining lists are still closed.
+     */
+    @Override
+    public void close() throws IOException {
+        IOException failure = null;
+        for (TaskStore store : this.cache.values()) {
+            try {
+                store.close();
+            } catch (IOException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        this.cache.clear();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Returns how many acquisitions found their list already loaded.
+     *
+     * @return the hit count.
+     */
+    public long getHitCount() {
+        return this.hitCount;
+    }
+
+    /**
+     * Returns how many acquisitions had to load their list from disk.
+     *
+     * @return the miss count.
+     */
+    public long getMissCount() {
+        return this.missCount;
+    }
+
+    /**
+     * Returns how many lists have been evicted to stay within budget.
+     *
+     * @return the eviction count.
+     */
+    public long getEvictionCount() {
+        return this.evictionCount;
+    }
+
+    /**
+     * Returns the number of lists currently loaded.
+     *
+     * @return the cached list count.
+     */
+    public int getCachedStoreCount() {
+        return this.cache.size();
+    }
+
+    /**
+     * Returns the cache's current weight: the sum over loaded lists of their file sizes when loaded
+     * plus the per-task estimate for each task and for the list itself.
+     *
+     * @return the estimated cached bytes.
+     */
+    public long getCachedBytes() {
+        long total = 0;
+        for (TaskStore store : this.cache.values()) {
+            total += weight(store);
+        }
+        return total;
+    }
+
+    private long weight(TaskStore store) {
+        return store.loadedBytes + this.bytesPerTask * (store.taskList.size() + 1L);
+    }
+
+    private void evictUntilWithinBudget(TaskStore keep) throws IOException {
+        long total = getCachedBytes();
+        Iterator<TaskStore> leastRecent = this.cache.values().iterator();
+        while (total > this.maxCachedBytes && leastRecent.hasNext()) {
+            TaskStore store = leastRecent.next();
+            if (store == keep) {
+                continue;
+            }
+            // Drop the entry before closing so a failed commit does not leave it cached half-closed.
+            leastRecent.remove();
+            total -= weight(store);
+            this.evictionCount++;
+            store.close();
+        }
+    }
+
+    /**
+     * One tenant's loaded task list together with the storage it is saved through.
+     *
+     * <p>Callers change {@link #getTaskList()} and record each change through {@link #getStorage()},
+     * as {@code MangoBot} does with its own list.</p>
+     */
+    public static final class TaskStore {
+        private final String tenant;
+        private final Storage storage;
+        private final TaskList taskList;
+        private final long loadedBytes;
+
+        private TaskStore(String tenant, Storage storage, TaskList taskList, long loadedBytes) {
+            this.tenant = tenant;
+            this.storage = storage;
+            this.taskList = taskList;
+            this.loadedBytes = loadedBytes;
+        }
+
+        /**
+         * Loads a tenant's list lazily; {@link TaskList#TaskList(java.util.List)} repairs its ids if
+         * needed, and the files are measured after any repair has rewritten them.
+         */
+        private static TaskStore open(String tenant, String filePath, Durability durability) throws IOException {
+            Storage storage = new Storage(filePath, durability);
+            try {
+                TaskList taskList = new TaskList(storage.loadLazily());
+                return new TaskStore(tenant, storage, taskList, storage.storedBytes());
+            } catch (IOException | RuntimeException e) {
+                storage.close();
+                throw e;
+            }
+        }
+
+        /**
+         * Returns the name of the tenant this list belongs to.
+         *
+         * @return the tenant name.
+         */
+        public String getTenant() {
+            return this.tenant;
+        }
+
+        /**
+         * Returns the tenant's tasks.
+         *
+         * @return the loaded task list.
+         */
+        public TaskList getTaskList() {
+            return this.taskList;
+        }
+
+        /**
+         * Returns the storage the tenant's changes are recorded through.
+         *
+         * @return the tenant's storage.
+         */
+        public Storage getStorage() {
+            return this.storage;
+        }
+
+        private void commit() throws IOException {
+            this.storage.commit(this.taskList.view());
+        }
+
+        private void close() throws IOException {
+            try {
+                commit();
+            } finally {
+                this.storage.close();
+            }
+        }
+    }
+}
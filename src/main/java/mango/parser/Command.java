@@ -1,7 +1,5 @@
 package mango.parser;
 
-import java.util.stream.Stream;
-
 /**
  * Enumerates all valid commands recognized by {@code MangoBot}.
  */
@@ -15,6 +13,9 @@ public enum Command {
     EVENT("event"),
     DELETE("delete"),
     FIND("find"),
+    DUE("due"),
+    ON("on"),
+    ALIAS("alias"),
     UNKNOWN("");
 
     private final String keyword;
@@ -29,28 +30,21 @@ public enum Command {
     }
 
     /**
-     * Returns the command that matches the start of the input.
+     * Returns the built-in command whose keyword is the first word of the input.
      *
      * @param input the raw user input.
-     * @return the parsed command, or {@link #UNKNOWN} if none matches.
+     * @return the parsed command, or {@link #UNKNOWN} if the first word is not a keyword.
      */
     public static Command of(String input) {
-        return Stream.of(values())
-                .filter(c -> input.startsWith(c.keyword))
-                .findFirst()
-                .orElse(UNKNOWN);
+        return Tokenizer.commandOf(input);
     }
 
     /**
-     * Trims the command keyword from the beginning of the input.
+     * Returns the keyword that names this command.
      *
-     * @param input the full input string containing the command and its argument.
-     * @return the argument portion with leading and trailing whitespace removed.
+     * @return the keyword; empty for {@link #UNKNOWN}.
      */
-    public String trimKeyword(String input) {
-        assert input != null : "trimKeyword expects non-null input";
-        assert input.startsWith(this.keyword) : "Input should start with command keyword (or UNKNOWN)";
-        String argument = input.substring(this.keyword.length());
-        return argument.trim();
+    String keyword() {
+        return this.keyword;
     }
 }
@@ -0,0 +1,150 @@
+package mango.parser;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+import mango.exception.MangoException;
+
+/**
+ * Character trie mapping command words, built-in keywords and user-defined aliases, to commands.
+ *
+ * <p>A lookup walks one trie level per character of the input's first word and compares that
+ * whole word, so {@code todos} or {@code markdown} no longer dispatch as {@code todo} or
+ * {@code mark}. It costs {@code O(word length)} and allocates nothing. Each node keeps its child
+ * characters in a sorted array searched by binary search.</p>
+ *
+ * <p>Aliases may be added and removed at run time; like the rest of {@code MangoBot}'s state,
+ * a table is not safe for concurrent modification.</p>
+ */
+public final class CommandTable {
+    private static final CommandTable BUILT_INS = new CommandTable();
+
+    private final Node root = new Node();
+    private final Map<String, String> aliases = new TreeMap<>();
+
+    /**
+     * Constructs a table holding every built-in command keyword and no aliases.
+     */
+    public CommandTable() {
+        for (Command command : Command.values()) {
+            if (command != Command.UNKNOWN) {
+                insert(command.keyword(), command);
+            }
+        }
+    }
+
+    /**
+     * Returns the shared table of built-in keywords, which has no aliases and must not be given any.
+     *
+     * @return the built-in table.
+     */
+    static CommandTable builtIns() {
+        return BUILT_INS;
+    }
+
+    /**
+     * Returns the command named by {@code input.substring(start, end)}.
+     *
+     * @param input the text holding the word.
+     * @param start the offset of the word's first character.
+     * @param end the offset just past the word's last character.
+     * @return the command, or {@link Command#UNKNOWN} if the word is not a keyword or alias.
+     */
+    public Command lookup(String input, int start, int end) {
+        Node node = this.root;
+        for (int i = start; i < end && node != null; i++) {
+            node = node.child(input.charAt(i));
+        }
+        return node == null || node.command == null ? Command.UNKNOWN : node.command;
+    }
+
+    /**
+     * Defines {@code alias} as another name for the command that {@code target} names.
+     *
+     * <p>An alias of an alias names the underlying command, so later changes to the target alias
+     * do not affect it. Defining an existing alias again replaces it.</p>
+     *
+     * @param alias the new word; must not be a built-in keyword or contain whitespace.
+     * @param target a built-in keyword or an existing alias.
+     * @return the command the alias now names.
+     * @throws MangoException if the alias is a built-in keyword or the target names no command.
+     */
+    public Command define(String alias, String target) throws MangoException {
+        assert !alias.isEmpty() && alias.chars().noneMatch(c -> c <= ' ') : "An alias must be one word";
+        if (BUILT_INS.lookup(alias, 0, alias.length()) != Command.UNKNOWN) {
+            throw new MangoException(MangoException.ERR_ALIAS_BUILT_IN);
+        }
+        Command command = lookup(target, 0, target.length());
+        if (command == Command.UNKNOWN) {
+            throw new MangoException(MangoException.ERR_ALIAS_TARGET);
+        }
+        insert(alias, command);
+        this.aliases.put(alias, command.keyword());
+        return command;
+    }
+
+    /**
+     * Removes an alias.
+     *
+     * @param alias the alias to remove.
+     * @throws MangoException if no such alias exists.
+     */
+    public void remove(String alias) throws MangoException {
+        if (this.aliases.remove(alias) == null) {
+            throw new MangoException(MangoException.ERR_NO_SUCH_ALIAS);
+        }
+        insert(alias, null);
+    }
+
+    /**
+     * Returns the defined aliases.
+     *
+     * @return an unmodifiable view of each alias and the keyword of its command, sorted by alias.
+     */
+    public Map<String, String> aliases() {
+        return Collections.unmodifiableMap(this.aliases);
+    }
+
+    private void insert(String word, Command command) {
+        Node node = this.root;
+        for (int i = 0; i < word.length(); i++) {
+            node = node.childOrCreate(word.charAt(i));
+        }
+        node.command = command;
+    }
+
+    /**
+     * One trie level: the sorted characters that may come next and the node for each.
+     */
+    private static final class Node {
+        private char[] labels = new char[0];
+        private Node[] children = new Node[0];
+        private Command command;
+
+        Node child(char c) {
+            int i = Arrays.binarySearch(this.labels, c);
+            return i >= 0 ? this.children[i] : null;
+        }
+
+        Node childOrCreate(char c) {
+            int i = Arrays.binarySearch(this.labels, c);
+            if (i >= 0) {
+                return this.children[i];
+            }
+            int at = -i - 1;
+            char[] labels = new char[this.labels.length + 1];
+            Node[] children = new Node[labels.length];
+            System.arraycopy(this.labels, 0, labels, 0, at);
+            System.arraycopy(this.children, 0, children, 0, at);
+            System.arraycopy(this.labels, at, labels, at + 1, this.labels.length - at);
+            System.arraycopy(this.children, at, children, at + 1, this.children.length - at);
+            labels[at] = c;
+            children[at] = new Node();
+            this.labels = labels;
+            this.children = children;
+            return children[at];
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package mango.parser;
+
+/**
+ * Reusable result of tokenizing one line of input with {@link Tokenizer}.
+ *
+ * <p>The argument is kept as a pair of offsets into the input and only copied into a
+ * {@code String} when {@link #getArgument()} is first called, so a caller that reuses one
+ * instance and only needs the command allocates nothing per line.</p>
+ */
+public final class ParsedInput {
+    private String input = "";
+    private Command command = Command.UNKNOWN;
+    private int argumentStart;
+    private int argumentEnd;
+    private String argument = "";
+
+    /**
+     * Returns the command the input starts with.
+     *
+     * @return the command, or {@link Command#UNKNOWN}.
+     */
+    public Command getCommand() {
+        return this.command;
+    }
+
+    /**
+     * Returns the input after the command keyword, with surrounding whitespace removed.
+     *
+     * @return the argument, possibly empty.
+     */
+    public String getArgument() {
+        if (this.argument == null) {
+            this.argument = this.input.substring(this.argumentStart, this.argumentEnd);
+        }
+        return this.argument;
+    }
+
+    /**
+     * Overwrites this result with a newly tokenized line.
+     *
+     * @param input the raw input.
+     * @param command the command it starts with.
+     * @param argumentStart the offset of the argument's first character.
+     * @param argumentEnd the offset just past the argument's last character.
+     */
+    void set(String input, Command command, int argumentStart, int argumentEnd) {
+        assert argumentStart <= argumentEnd : "Argument offsets must not cross";
+        this.input = input;
+        this.command = command;
+        this.argumentStart = argumentStart;
+        this.argumentEnd = argumentEnd;
+        this.argument = argumentStart == argumentEnd ? "" : null;
+    }
+}
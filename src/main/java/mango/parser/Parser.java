@@ -1,12 +1,21 @@
 package mango.parser;
 
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 
 import mango.exception.MangoException;
 import mango.task.Deadline;
 import mango.task.Event;
+import mango.task.ListQuery;
+import mango.task.SearchQuery;
 import mango.task.Task;
+import mango.task.TaskList;
+import mango.task.TaskSelector;
 import mango.task.Todo;
 
 /**
@@ -16,8 +25,23 @@ public class Parser {
     private static final String BY_DELIMITER = " /by ";
     private static final String FROM_DELIMITER = " /from ";
     private static final String TO_DELIMITER = " /to ";
+    private static final String ALL_WORDS_FLAG = "/all";
+    private static final String ANY_WORD_FLAG = "/any";
+    private static final String PAGE_OPTION = "--page";
+    private static final String OFFSET_OPTION = "--offset";
+    private static final String LIMIT_OPTION = "--limit";
+    private static final String DONE_OPTION = "--done";
+    private static final String PENDING_OPTION = "--pending";
+    private static final String TYPE_OPTION = "--type";
+    private static final char ID_PREFIX = '#';
+    private static final char RANGE_SEPARATOR = '-';
+    private static final String ALL_SELECTOR = "all";
+    private static final String TYPE_SELECTOR = "type:";
+    private static final String FIND_SELECTOR = "find:";
+    private static final List<String> TASK_TYPES = List.of("T", "D", "E");
     private static final int FROM_DELIMITER_LENGTH = FROM_DELIMITER.length();
     private static final int TO_DELIMITER_LENGTH = TO_DELIMITER.length();
+    private static final int BY_DELIMITER_LENGTH = BY_DELIMITER.length();
     private final Command command;
     private final String argument;
 
@@ -27,9 +51,18 @@ public class Parser {
      * @param input the raw user input.
      */
     public Parser(String input) {
-        assert input != null : "Parser expects non-null raw input";
-        this.command = Command.of(input);
-        this.argument = this.command.trimKeyword(input);
+        this(Tokenizer.tokenize(input, new ParsedInput()));
+    }
+
+    /**
+     * Constructs a {@code Parser} from input that has already been tokenized.
+     *
+     * @param parsed the tokenized input.
+     */
+    public Parser(ParsedInput parsed) {
+        assert parsed != null : "Parser expects non-null parsed input";
+        this.command = parsed.getCommand();
+        this.argument = parsed.getArgument();
         assert this.command != null : "Command must not be null";
         assert this.argument != null : "Argument must not be null (empty string is fine)";
     }
@@ -78,36 +111,203 @@ public class Parser {
     }
 
     /**
-     * Parses multiple indices from the argument string.
+     * Parses the argument of a {@code find} command into a {@link SearchQuery}.
+     *
+     * <p>{@code /all w1 w2 ...} matches tasks containing every word, {@code /any w1 w2 ...}
+     * matches tasks containing at least one word; anything else is a substring search.</p>
+     *
+     * @return the search query.
+     * @throws MangoException if no keyword or word is given.
+     */
+    public SearchQuery parseSearchQuery() throws MangoException {
+        validateArgumentPresence();
+        String[] tokens = Tokenizer.splitWords(this.argument);
+        return switch (tokens[0]) {
+            case ALL_WORDS_FLAG -> SearchQuery.allWords(wordsAfterFlag(tokens));
+            case ANY_WORD_FLAG -> SearchQuery.anyWord(wordsAfterFlag(tokens));
+            default -> SearchQuery.substring(this.argument);
+        };
+    }
+
+    /**
+     * Parses the options of a {@code list} command into a {@link ListQuery}.
+     *
+     * <p>Accepts {@code --done}, {@code --pending}, {@code --type <T|D|E>}, {@code --limit <n>},
+     * and either {@code --page <n>} (1-based, in units of the limit) or {@code --offset <n>}.</p>
+     *
+     * @return the list query; the first page of all tasks if no options are given.
+     * @throws MangoException if an option is unknown or its value is invalid.
+     */
+    public ListQuery parseListQuery() throws MangoException {
+        if (this.argument.isEmpty()) {
+            return ListQuery.firstPage();
+        }
+        String[] tokens = Tokenizer.splitWords(this.argument);
+        ListQuery.Status status = ListQuery.Status.ANY;
+        String type = null;
+        int page = 0;
+        int offset = 0;
+        int limit = ListQuery.DEFAULT_LIMIT;
+        for (int i = 0; i < tokens.length; i++) {
+            switch (tokens[i]) {
+                case DONE_OPTION -> status = ListQuery.Status.DONE;
+                case PENDING_OPTION -> status = ListQuery.Status.PENDING;
+                case TYPE_OPTION -> type = parseTypeOption(optionValue(tokens, ++i));
+                case PAGE_OPTION -> page = parseOptionNumber(optionValue(tokens, ++i), 1);
+                case OFFSET_OPTION -> offset = parseOptionNumber(optionValue(tokens, ++i), 0);
+                case LIMIT_OPTION -> limit = parseOptionNumber(optionValue(tokens, ++i), 1);
+                default -> throw new MangoException(MangoException.ERR_LIST_OPTION);
+            }
+        }
+        if (page > 0) {
+            offset = (int) Math.min((long) (page - 1) * limit, Integer.MAX_VALUE);
+        }
+        return new ListQuery(status, type, offset, limit);
+    }
+
+    /**
+     * Parses the inclusive day range of a {@code due} or {@code on} command.
+     *
+     * <p>{@code due} accepts one or two {@code yyyy-MM-dd} dates; {@code on} accepts exactly one.
+     * A single date denotes a one-day range.</p>
+     *
+     * @return a two-element list holding the first and last day of the range.
+     * @throws MangoException if the dates are missing, malformed, or out of order.
+     */
+    public List<LocalDate> parseDayRange() throws MangoException {
+        validateArgumentPresence();
+        String[] tokens = Tokenizer.splitWords(this.argument);
+        int maxDates = this.command == Command.ON ? 1 : 2;
+        if (tokens.length > maxDates) {
+            throw new MangoException(MangoException.ERR_BAD_DAY);
+        }
+        LocalDate first = parseDay(tokens[0]);
+        LocalDate last = tokens.length == 2 ? parseDay(tokens[1]) : first;
+        if (last.isBefore(first)) {
+            throw new MangoException(MangoException.ERR_DAY_RANGE);
+        }
+        return List.of(first, last);
+    }
+
+    /**
+     * Parses the argument of a bulk command into a {@link TaskSelector}.
      *
-     * @param listSize the total number of tasks.
-     * @return a list of zero-based indices.
-     * @throws MangoException if any index is invalid.
+     * <p>Each whitespace-separated token adds to the selection: a 1-based index, an inclusive
+     * range such as {@code 3-7}, a {@code #}-prefixed task id, {@code all}, {@code type:<T|D|E>},
+     * or {@code find:<keyword>}. Indices are checked against the list here, so the selector can
+     * be resolved without further validation.</p>
+     *
+     * @param taskList the list the selector points into.
+     * @return the selector.
+     * @throws MangoException if a token is malformed, an index is out of range, or an id matches
+     *     no task.
      */
-    public List<Integer> parseMultipleIndices(int listSize) throws MangoException {
-        assert listSize >= 0 : "Task list size must be non-negative";
+    public TaskSelector parseSelector(TaskList taskList) throws MangoException {
+        assert taskList != null : "Task list must be non-null";
         validateArgumentPresence();
 
-        String[] oneBasedIndices = this.argument.split("\\s+");
-        return toZeroBasedIndices(oneBasedIndices, listSize);
+        boolean isAll = false;
+        IntStream.Builder ranges = IntStream.builder();
+        LongStream.Builder ids = LongStream.builder();
+        StringBuilder types = new StringBuilder();
+        List<String> keywords = new ArrayList<>();
+        for (String token : Tokenizer.splitWords(this.argument)) {
+            if (token.equals(ALL_SELECTOR)) {
+                isAll = true;
+            } else if (token.startsWith(TYPE_SELECTOR)) {
+                types.append(parseSelectorType(token.substring(TYPE_SELECTOR.length())));
+            } else if (token.startsWith(FIND_SELECTOR) && token.length() > FIND_SELECTOR.length()) {
+                keywords.add(token.substring(FIND_SELECTOR.length()));
+            } else if (token.charAt(0) == ID_PREFIX) {
+                ids.add(parseKnownId(token.substring(1), taskList));
+            } else {
+                int[] range = parseIndexRange(token, taskList.size());
+                ranges.add(range[0] - 1).add(range[1] - 1);
+            }
+        }
+        return new TaskSelector(isAll, ranges.build().toArray(), ids.build().toArray(), types.toString(),
+                keywords);
+    }
+
+    /**
+     * Parses the argument of an {@code alias} command.
+     *
+     * <p>No words lists the aliases, {@code <name>} removes one, and {@code <name> <command>}
+     * defines one.</p>
+     *
+     * @return the zero, one or two words of the argument.
+     * @throws MangoException if there are more than two words.
+     */
+    public String[] parseAlias() throws MangoException {
+        String[] words = Tokenizer.splitWords(this.argument);
+        if (words.length > 2) {
+            throw new MangoException(MangoException.ERR_ALIAS_FORMAT);
+        }
+        return words;
     }
 
     /**
-     * Converts whitespace-separated 1-based indices into zero-based indices and validates range.
+     * Parses a 1-based index token, or an inclusive {@code first-last} range token, and checks it
+     * against the list.
      *
-     * @param tokens the string tokens parsed from {@link #argument}.
+     * @param token a single index or a range.
      * @param listSize the current number of tasks for range checking.
-     * @return a list of zero-based indices.
-     * @throws MangoException if any index is not numeric or out of range.
+     * @return the 1-based first and last index; equal for a single index.
+     * @throws MangoException if an index is not numeric or out of range, or the range is reversed.
      */
-    private List<Integer> toZeroBasedIndices(String[] tokens, int listSize) throws MangoException {
-        List<Integer> zeroBasedIndices = new ArrayList<>(tokens.length);
-        for (String token : tokens) {
+    private int[] parseIndexRange(String token, int listSize) throws MangoException {
+        int separator = token.indexOf(RANGE_SEPARATOR, 1);
+        if (separator < 0) {
             int oneBasedIndex = parseOneBasedIndex(token);
             validateRange(oneBasedIndex, listSize);
-            zeroBasedIndices.add(oneBasedIndex - 1);
+            return new int[] {oneBasedIndex, oneBasedIndex};
+        }
+        int first = parseOneBasedIndex(token.substring(0, separator));
+        int last = parseOneBasedIndex(token.substring(separator + 1));
+        validateRange(first, listSize);
+        validateRange(last, listSize);
+        if (first > last) {
+            throw new MangoException(MangoException.ERR_BAD_RANGE);
+        }
+        return new int[] {first, last};
+    }
+
+    private String parseSelectorType(String value) throws MangoException {
+        String type = value.toUpperCase(Locale.ROOT);
+        if (!TASK_TYPES.contains(type)) {
+            throw new MangoException(MangoException.ERR_BAD_SELECTOR);
+        }
+        return type;
+    }
+
+    private String optionValue(String[] tokens, int i) throws MangoException {
+        if (i >= tokens.length) {
+            throw new MangoException(MangoException.ERR_LIST_OPTION);
+        }
+        return tokens[i];
+    }
+
+    private String parseTypeOption(String value) throws MangoException {
+        String type = value.toUpperCase(Locale.ROOT);
+        if (!TASK_TYPES.contains(type)) {
+            throw new MangoException(MangoException.ERR_LIST_OPTION);
+        }
+        return type;
+    }
+
+    private int parseOptionNumber(String value, int min) throws MangoException {
+        int n = parseOneBasedIndex(value);
+        if (n < min) {
+            throw new MangoException(MangoException.ERR_LIST_NUMBER);
         }
-        return zeroBasedIndices;
+        return n;
+    }
+
+    private List<String> wordsAfterFlag(String[] tokens) throws MangoException {
+        if (tokens.length < 2) {
+            throw new MangoException(MangoException.ERR_FIND_EMPTY);
+        }
+        return List.of(tokens).subList(1, tokens.length);
     }
 
     private void validateArgumentPresence() throws MangoException {
@@ -123,6 +323,8 @@ public class Parser {
             case DEADLINE -> throw new MangoException(MangoException.ERR_DEADLINE_EMPTY);
             case DELETE -> throw new MangoException(MangoException.ERR_DELETE_EMPTY);
             case FIND -> throw new MangoException(MangoException.ERR_FIND_EMPTY);
+            case DUE -> throw new MangoException(MangoException.ERR_DUE_EMPTY);
+            case ON -> throw new MangoException(MangoException.ERR_ON_EMPTY);
             default -> { }
         }
     }
@@ -154,10 +356,10 @@ public class Parser {
     }
 
     private Task parseDeadline() throws MangoException {
-        String[] parts = this.argument.split(BY_DELIMITER, 2);
-        assert parts.length == 2 : "Argument must have " + BY_DELIMITER;
-        String desc = parts[0].trim();
-        String by = parts[1].trim();
+        int indexOfBy = this.argument.indexOf(BY_DELIMITER);
+        assert indexOfBy >= 0 : "Argument must have " + BY_DELIMITER;
+        String desc = this.argument.substring(0, indexOfBy).trim();
+        String by = this.argument.substring(indexOfBy + BY_DELIMITER_LENGTH).trim();
 
         assertNonBlank(desc, "Deadline description must be non-empty");
         assertNonBlank(by, "Deadline date/time must be non-empty");
@@ -207,6 +409,35 @@ public class Parser {
         }
     }
 
+    /**
+     * Parses a task id and checks that a task has it.
+     *
+     * @param digits the id without its {@code #} prefix.
+     * @param taskList the list to look in.
+     * @return the id.
+     * @throws MangoException if the id is not a number or matches no task.
+     */
+    private long parseKnownId(String digits, TaskList taskList) throws MangoException {
+        long id;
+        try {
+            id = Long.parseLong(digits);
+        } catch (NumberFormatException e) {
+            throw new MangoException(MangoException.ERR_NAN);
+        }
+        if (taskList.indexOf(id) < 0) {
+            throw new MangoException(MangoException.ERR_NO_SUCH_ID);
+        }
+        return id;
+    }
+
+    private LocalDate parseDay(String token) throws MangoException {
+        try {
+            return LocalDate.parse(token);
+        } catch (DateTimeParseException e) {
+            throw new MangoException(MangoException.ERR_BAD_DAY);
+        }
+    }
+
     private Task constructDeadline(String desc, String by) throws MangoException {
         try {
             return new Deadline(desc, by);
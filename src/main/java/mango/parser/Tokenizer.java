@@ -0,0 +1,114 @@
+package mango.parser;
+
+/**
+ * Single-pass, index-based scanning of raw input.
+ *
+ * <p>The command is found by walking the input's first word down a {@link CommandTable}, and
+ * arguments are split on whitespace by walking the characters once. No regular expressions,
+ * streams or lambdas are involved, and {@link #tokenize(String, ParsedInput)} writes into a
+ * caller-owned result.</p>
+ *
+ * <p>As in {@link String#trim()}, every character up to {@code ' '} counts as whitespace.</p>
+ */
+public final class Tokenizer {
+    private static final String[] NO_WORDS = new String[0];
+
+    private Tokenizer() {
+    }
+
+    /**
+     * Finds the built-in command at the start of {@code input} and the bounds of its argument.
+     *
+     * @param input the raw input.
+     * @param into the result to overwrite.
+     * @return {@code into}, for chaining.
+     */
+    public static ParsedInput tokenize(String input, ParsedInput into) {
+        return tokenize(input, CommandTable.builtIns(), into);
+    }
+
+    /**
+     * Finds the command named by the first word of {@code input} and the bounds of its argument.
+     *
+     * <p>If the first word names no command, the argument is the whole input.</p>
+     *
+     * @param input the raw input.
+     * @param commands the keywords and aliases to recognize.
+     * @param into the result to overwrite.
+     * @return {@code into}, for chaining.
+     */
+    public static ParsedInput tokenize(String input, CommandTable commands, ParsedInput into) {
+        assert input != null && commands != null && into != null : "Input, table and result must be non-null";
+        int wordEnd = firstWordEnd(input);
+        Command command = commands.lookup(input, 0, wordEnd);
+        int start = command == Command.UNKNOWN ? 0 : wordEnd;
+        int end = input.length();
+        while (start < end && isSpace(input.charAt(start))) {
+            start++;
+        }
+        while (end > start && isSpace(input.charAt(end - 1))) {
+            end--;
+        }
+        into.set(input, command, start, end);
+        return into;
+    }
+
+    /**
+     * Returns the built-in command whose keyword is the first word of {@code input}.
+     *
+     * @param input the raw input.
+     * @return the command, or {@link Command#UNKNOWN} if the first word is not a keyword.
+     */
+    public static Command commandOf(String input) {
+        return CommandTable.builtIns().lookup(input, 0, firstWordEnd(input));
+    }
+
+    /**
+     * Splits text into its whitespace-separated words.
+     *
+     * @param text the text to split.
+     * @return the words, in order; empty if the text is blank.
+     */
+    public static String[] splitWords(String text) {
+        int count = 0;
+        boolean isInWord = false;
+        for (int i = 0; i < text.length(); i++) {
+            boolean isSpace = isSpace(text.charAt(i));
+            if (!isSpace && !isInWord) {
+                count++;
+            }
+            isInWord = !isSpace;
+        }
+        if (count == 0) {
+            return NO_WORDS;
+        }
+        String[] words = new String[count];
+        int word = 0;
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean isSpace = i == text.length() || isSpace(text.charAt(i));
+            if (!isSpace && start < 0) {
+                start = i;
+            } else if (isSpace && start >= 0) {
+                words[word++] = text.substring(start, i);
+                start = -1;
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Returns the offset just past the first word; {@code 0} if the input starts with whitespace.
+     */
+    private static int firstWordEnd(String input) {
+        int end = 0;
+        while (end < input.length() && !isSpace(input.charAt(end))) {
+            end++;
+        }
+        return end;
+    }
+
+    private static boolean isSpace(char c) {
+        return c <= ' ';
+    }
+}
@@ -0,0 +1,347 @@
+package mango.task;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+import mango.exception.MangoException;
+
+/**
+ * Task list stored column by column, for scans over very large lists.
+ *
+ * <p>Instead of one object per task, each field lives in its own array: a type byte, a done bit,
+ * the id, two {@linkplain EpochMinutes epoch-minute} columns (a deadline's due time, or an event's
+ * start and end), and every description packed end to end into one {@link StringBuilder} with
+ * an offset per task. The builder stores Latin-1 text at one byte per character, and a search runs
+ * {@link StringBuilder#indexOf(String, int)} across all descriptions at once instead of once per
+ * task. Filters such as "pending deadlines before X" run as loops over primitive arrays,
+ * touching only the columns they test and creating nothing for tasks that do not match.</p>
+ *
+ * <p>{@link #get(int)} and {@link #view()} hand out {@link Task} objects built from the columns on
+ * each call. They are detached copies: change a task through {@link #setDone(int, boolean)}, not
+ * through the object.</p>
+ *
+ * <p>The store only grows at the end; it does not support removal. Like {@link TaskList}, it is
+ * not thread-safe.</p>
+ */
+public final class ColumnarTaskStore {
+    private static final byte TODO = 'T';
+    private static final byte DEADLINE = 'D';
+    private static final byte EVENT = 'E';
+    private static final int INITIAL_CAPACITY = 16;
+
+    private byte[] types;
+    private long[] ids;
+    private long[] starts;
+    private long[] ends;
+    private final BitSet done = new BitSet();
+    // Task i's description is descriptions[descriptionStarts[i] .. descriptionStarts[i + 1]).
+    private int[] descriptionStarts;
+    private final StringBuilder descriptions;
+    private int size;
+    private long nextId = 1;
+
+    /**
+     * Constructs an empty {@code ColumnarTaskStore}.
+     */
+    public ColumnarTaskStore() {
+        this(List.of());
+    }
+
+    /**
+     * Constructs a {@code ColumnarTaskStore} holding the given tasks.
+     *
+     * <p>Tasks without increasing ids are stored with new ones, chosen as
+     * {@link TaskList#assignMissingIds(List)} would; the given tasks themselves are not changed.</p>
+     *
+     * @param initial the initial tasks, in list order; they are copied, not kept.
+     */
+    public ColumnarTaskStore(List<Task> initial) {
+        assert initial != null : "Initial list must be non-null";
+        int capacity = Math.max(INITIAL_CAPACITY, initial.size());
+        this.types = new byte[capacity];
+        this.ids = new long[capacity];
+        this.starts = new long[capacity];
+        this.ends = new long[capacity];
+        this.descriptionStarts = new int[capacity + 1];
+        int length = 0;
+        for (Task t : initial) {
+            length += t.description.length();
+        }
+        this.descriptions = new StringBuilder(length);
+        for (Task t : initial) {
+            append(t, Math.max(t.id, this.nextId));
+        }
+    }
+
+    /**
+     * Returns the number of tasks.
+     *
+     * @return the task count.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Appends a task, storing it under the next id if it has none.
+     *
+     * <p>Unlike {@link TaskList#add(Task)}, duplicates are not rejected; the store keeps no index
+     * of descriptions.</p>
+     *
+     * @param t the task to add; its fields are copied into the columns and it is not changed.
+     * @return the stored task, as {@link #get(int)} builds it.
+     * @throws IllegalArgumentException if the task has an id that does not exceed every stored id.
+     */
+    public Task add(Task t) {
+        assert t != null : "Cannot add null task";
+        if (t.id != 0 && t.id < this.nextId) {
+            throw new IllegalArgumentException(MangoException.ERR_ID_ORDER);
+        }
+        append(t, t.id == 0 ? this.nextId : t.id);
+        return materialize(this.size - 1);
+    }
+
+    /**
+     * Builds the task at a position.
+     *
+     * @param position the zero-based position.
+     * @return a new task holding that position's fields.
+     */
+    public Task get(int position) {
+        Objects.checkIndex(position, this.size);
+        return materialize(position);
+    }
+
+    /**
+     * Returns a read-only list over the store that builds each task as it is read.
+     *
+     * @return an unmodifiable, random-access view; it sees later changes.
+     */
+    public List<Task> view() {
+        return new View();
+    }
+
+    /**
+     * Marks or unmarks the task at a position.
+     *
+     * @param position the zero-based position.
+     * @param isDone whether the task is now done.
+     */
+    public void setDone(int position, boolean isDone) {
+        Objects.checkIndex(position, this.size);
+        this.done.set(position, isDone);
+    }
+
+    /**
+     * Counts the tasks with the given status and type.
+     *
+     * @param status the completion-status filter.
+     * @param type the one-letter type identifier to count, or {@code null} for all types.
+     * @return the number of matching tasks.
+     */
+    public int count(ListQuery.Status status, String type) {
+        assert status != null : "Status filter must be non-null";
+        if (type == null) {
+            int doneCount = this.done.cardinality();
+            return switch (status) {
+                case ANY -> this.size;
+                case DONE -> doneCount;
+                case PENDING -> this.size - doneCount;
+            };
+        }
+        byte wanted = typeByte(type);
+        boolean isAnyStatus = status == ListQuery.Status.ANY;
+        boolean isDoneWanted = status == ListQuery.Status.DONE;
+        int count = 0;
+        for (int i = 0; i < this.size; i++) {
+            if (this.types[i] == wanted && (isAnyStatus || this.done.get(i) == isDoneWanted)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns one page of the tasks matching {@code query}, as {@link TaskList#page(ListQuery)}
+     * does; only the tasks on the page are built.
+     *
+     * <p>An unfiltered page is {@link TaskList#page(List, ListQuery)} over {@link #view()}, so its
+     * tasks are built as they are read. A filtered page tests the columns and builds its tasks
+     * once.</p>
+     *
+     * @param query the filters and window to apply.
+     * @return the requested page.
+     */
+    public TaskPage page(ListQuery query) {
+        assert query != null : "Query must be non-null";
+        if (!query.isFiltered()) {
+            return TaskList.page(view(), query);
+        }
+
+        boolean isAnyStatus = query.getStatus() == ListQuery.Status.ANY;
+        boolean isDoneWanted = query.getStatus() == ListQuery.Status.DONE;
+        byte wanted = query.getType() == null ? 0 : typeByte(query.getType());
+        int[] positions = new int[Math.min(query.getLimit(), this.size)];
+        int pageSize = 0;
+        int matches = 0;
+        for (int i = 0; i < this.size; i++) {
+            if ((wanted != 0 && this.types[i] != wanted) || !(isAnyStatus || this.done.get(i) == isDoneWanted)) {
+                continue;
+            }
+            if (matches >= query.getOffset() && pageSize < positions.length) {
+                positions[pageSize++] = i;
+            }
+            matches++;
+        }
+        positions = Arrays.copyOf(positions, pageSize);
+        return new TaskPage(materialize(positions), positions, query.getOffset(), matches, true);
+    }
+
+    /**
+     * Finds the deadlines with the given status due within {@code [start, end)}.
+     *
+     * @param start the inclusive lower bound, in epoch minutes.
+     * @param end the exclusive upper bound, in epoch minutes.
+     * @param status the completion-status filter.
+     * @return the positions of the matching deadlines, ascending.
+     */
+    public int[] dueBetween(long start, long end, ListQuery.Status status) {
+        assert status != null : "Status filter must be non-null";
+        boolean isAnyStatus = status == ListQuery.Status.ANY;
+        boolean isDoneWanted = status == ListQuery.Status.DONE;
+        byte[] types = this.types;
+        long[] starts = this.starts;
+        int[] positions = new int[INITIAL_CAPACITY];
+        int count = 0;
+        for (int i = 0; i < this.size; i++) {
+            long by = starts[i];
+            // Testing all three without short-circuiting leaves one hard-to-predict branch per task, not three.
+            if ((types[i] == DEADLINE) & (by >= start) & (by < end)
+                    && (isAnyStatus || this.done.get(i) == isDoneWanted)) {
+                if (count == positions.length) {
+                    positions = Arrays.copyOf(positions, count * 2);
+                }
+                positions[count++] = i;
+            }
+        }
+        return Arrays.copyOf(positions, count);
+    }
+
+    /**
+     * Finds the tasks whose descriptions contain {@code keyword}, case-sensitively, as
+     * {@link TaskList#find(String)} does.
+     *
+     * @param keyword the text to look for.
+     * @return the positions of the matching tasks, ascending.
+     */
+    public int[] find(String keyword) {
+        assert keyword != null : "Keyword must be non-null (empty allowed)";
+        if (keyword.isEmpty()) {
+            int[] all = new int[this.size];
+            Arrays.setAll(all, i -> i);
+            return all;
+        }
+        int[] positions = new int[INITIAL_CAPACITY];
+        int count = 0;
+        int position = 0;
+        int match = this.descriptions.indexOf(keyword);
+        while (match >= 0) {
+            while (this.descriptionStarts[position + 1] <= match) {
+                position++;
+            }
+            int descriptionEnd = this.descriptionStarts[position + 1];
+            if (match + keyword.length() > descriptionEnd) {
+                // The match runs on into the next description; look again from the next character.
+                match = this.descriptions.indexOf(keyword, match + 1);
+                continue;
+            }
+            if (count == positions.length) {
+                positions = Arrays.copyOf(positions, count * 2);
+            }
+            positions[count++] = position;
+            match = this.descriptions.indexOf(keyword, descriptionEnd);
+        }
+        return Arrays.copyOf(positions, count);
+    }
+
+    private void append(Task t, long id) {
+        ensureCapacity(this.size + 1);
+        int position = this.size;
+        this.descriptions.append(t.description);
+        this.descriptionStarts[position + 1] = this.descriptions.length();
+        this.ids[position] = id;
+        this.done.set(position, t.isDone);
+        if (t instanceof Deadline d) {
+            this.types[position] = DEADLINE;
+            this.starts[position] = d.getByMinute();
+            this.ends[position] = d.getByMinute();
+        } else if (t instanceof Event e) {
+            this.types[position] = EVENT;
+            this.starts[position] = e.getFromMinute();
+            this.ends[position] = e.getToMinute();
+        } else {
+            assert t instanceof Todo : "Unknown task subclass: " + t.getClass();
+            this.types[position] = TODO;
+        }
+        this.nextId = id + 1;
+        this.size++;
+    }
+
+    private void ensureCapacity(int taskCount) {
+        if (taskCount > this.types.length) {
+            int capacity = Math.max(taskCount, this.types.length * 2);
+            this.types = Arrays.copyOf(this.types, capacity);
+            this.ids = Arrays.copyOf(this.ids, capacity);
+            this.starts = Arrays.copyOf(this.starts, capacity);
+            this.ends = Arrays.copyOf(this.ends, capacity);
+            this.descriptionStarts = Arrays.copyOf(this.descriptionStarts, capacity + 1);
+        }
+    }
+
+    private List<Task> materialize(int[] positions) {
+        List<Task> tasks = new ArrayList<>(positions.length);
+        for (int position : positions) {
+            tasks.add(materialize(position));
+        }
+        return tasks;
+    }
+
+    private Task materialize(int position) {
+        String description = this.descriptions.substring(this.descriptionStarts[position],
+                this.descriptionStarts[position + 1]);
+        Task t = switch (this.types[position]) {
+            case DEADLINE -> new Deadline(description, this.starts[position]);
+            case EVENT -> new Event(description, this.starts[position], this.ends[position]);
+            default -> new Todo(description);
+        };
+        t.isDone = this.done.get(position);
+        t.id = this.ids[position];
+        return t;
+    }
+
+    private static byte typeByte(String type) {
+        assert type.length() == 1 : "Type identifiers are one letter";
+        return (byte) type.charAt(0);
+    }
+
+    /**
+     * Read-only list that builds each task from the columns when it is read.
+     */
+    private final class View extends AbstractList<Task> implements RandomAccess {
+        @Override
+        public Task get(int index) {
+            Objects.checkIndex(index, ColumnarTaskStore.this.size);
+            return materialize(index);
+        }
+
+        @Override
+        public int size() {
+            return ColumnarTaskStore.this.size;
+        }
+    }
+}
@@ -0,0 +1,328 @@
+package mango.task;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.concurrent.locks.ReentrantLock;
+
+import mango.exception.MangoException;
+
+/**
+ * Task list that any number of threads may read while one thread at a time changes it.
+ *
+ * <p>Tasks are held in fixed-size chunks. Every change publishes a new immutable snapshot through
+ * a volatile field; readers take the latest snapshot without locking and may keep using it while
+ * writers proceed. Writers take a lock and share every chunk they do not change with the
+ * snapshots before them:</p>
+ * <ul>
+ *   <li>{@link #add(Task)} writes into a slot no published snapshot covers, so it copies
+ *       nothing;</li>
+ *   <li>{@link #mark(TaskSelector)} and {@link #unmark(TaskSelector)} copy each chunk they touch
+ *       and replace each changed task with a {@linkplain Task#copy() copy}, so a task seen
+ *       through a snapshot never changes;</li>
+ *   <li>{@link #remove(TaskSelector)} rebuilds the chunks from the first removed position on.</li>
+ * </ul>
+ *
+ * <p>Reads scan a snapshot instead of consulting the indexes {@link TaskList} keeps, since those
+ * are updated in place. Bulk commands resolve their {@link TaskSelector} and apply it under the
+ * same lock, so positions cannot shift in between.</p>
+ */
+public final class ConcurrentTaskList {
+    private static final int CHUNK_SHIFT = 10;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int MIN_CHUNKS = 4;
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile Snapshot current = new Snapshot(new Task[MIN_CHUNKS][], 0);
+
+    // Guarded by writeLock.
+    private final Map<String, Integer> keyCounts = new HashMap<>();
+    private long nextId = 1;
+
+    /**
+     * Constructs an empty {@code ConcurrentTaskList}.
+     */
+    public ConcurrentTaskList() {
+    }
+
+    /**
+     * Constructs a {@code ConcurrentTaskList} holding the given tasks.
+     *
+     * <p>Tasks without increasing ids are given them, as in {@link TaskList#TaskList(List)}.</p>
+     *
+     * @param initial the initial tasks, in list order; a {@link LazyTaskList} is decoded in full.
+     */
+    public ConcurrentTaskList(List<Task> initial) {
+        assert initial != null : "Initial list must be non-null";
+        List<Task> tasks = new ArrayList<>(initial);
+        TaskList.assignMissingIds(tasks);
+        int chunkCount = Math.max(MIN_CHUNKS, (tasks.size() + CHUNK_MASK) >>> CHUNK_SHIFT);
+        Task[][] chunks = new Task[chunkCount][];
+        for (int i = 0; i < tasks.size(); i++) {
+            Task t = tasks.get(i);
+            chunkFor(chunks, i)[i & CHUNK_MASK] = t;
+            this.keyCounts.merge(t.normalizedKey(), 1, Integer::sum);
+        }
+        if (!tasks.isEmpty()) {
+            this.nextId = tasks.get(tasks.size() - 1).id + 1;
+        }
+        this.current = new Snapshot(chunks, tasks.size());
+    }
+
+    /**
+     * Returns the tasks as they are now.
+     *
+     * <p>The snapshot is immutable and unaffected by later changes, so it may be listed, searched
+     * or saved at leisure. Taking one costs a single volatile read.</p>
+     *
+     * @return an unmodifiable, random-access list of the tasks.
+     */
+    public List<Task> snapshot() {
+        return this.current;
+    }
+
+    /**
+     * Returns the number of tasks.
+     *
+     * @return the size of the latest snapshot.
+     */
+    public int size() {
+        return this.current.size;
+    }
+
+    /**
+     * Returns one page of the tasks matching {@code query}, read from the latest snapshot.
+     *
+     * @param query the filters and window to apply.
+     * @return the requested page.
+     */
+    public TaskPage page(ListQuery query) {
+        return TaskList.page(this.current, query);
+    }
+
+    /**
+     * Finds the tasks matching {@code query} in the latest snapshot.
+     *
+     * @param query the search query.
+     * @return the matching tasks, in list order.
+     */
+    public List<Task> find(SearchQuery query) {
+        assert query != null : "Query must be non-null";
+        List<Task> results = new ArrayList<>();
+        for (Task t : this.current) {
+            if (query.matches(t)) {
+                results.add(t);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Appends a task, giving it the next id.
+     *
+     * @param t the task to add.
+     * @return the added task.
+     * @throws MangoException if an equal task is already in the list.
+     */
+    public Task add(Task t) throws MangoException {
+        assert t != null : "Cannot add null task";
+        this.writeLock.lock();
+        try {
+            if (this.keyCounts.containsKey(t.normalizedKey())) {
+                throw new MangoException(MangoException.ERR_DUPLICATE_TASK);
+            }
+            if (t.id == 0) {
+                t.id = this.nextId;
+            }
+            assert t.id >= this.nextId : "Tasks must be added in id order";
+            this.nextId = t.id + 1;
+            this.keyCounts.merge(t.normalizedKey(), 1, Integer::sum);
+
+            Snapshot s = this.current;
+            Task[][] chunks = s.chunks;
+            if (s.size >>> CHUNK_SHIFT == chunks.length) {
+                chunks = Arrays.copyOf(chunks, chunks.length * 2);
+            }
+            // No published snapshot reaches position s.size, so the slot can be written in place.
+            chunkFor(chunks, s.size)[s.size & CHUNK_MASK] = t;
+            this.current = new Snapshot(chunks, s.size + 1);
+            return t;
+        } finally {
+            this.writeLock.unlock();
+        }
+    }
+
+    /**
+     * Marks the selected tasks as done.
+     *
+     * @param selector the tasks to mark; positions past the end are ignored.
+     * @return the tasks as they now are, in list order.
+     * @throws MangoException if the selector matches no task.
+     */
+    public List<Task> mark(TaskSelector selector) throws MangoException {
+        return setDone(selector, true);
+    }
+
+    /**
+     * Marks the selected tasks as not done.
+     *
+     * @param selector the tasks to unmark; positions past the end are ignored.
+     * @return the tasks as they now are, in list order.
+     * @throws MangoException if the selector matches no task.
+     */
+    public List<Task> unmark(TaskSelector selector) throws MangoException {
+        return setDone(selector, false);
+    }
+
+    /**
+     * Removes the selected tasks.
+     *
+     * @param selector the tasks to remove; positions past the end are ignored.
+     * @return the removed tasks, in list order.
+     * @throws MangoException if the selector matches no task.
+     */
+    public List<Task> remove(TaskSelector selector) throws MangoException {
+        this.writeLock.lock();
+        try {
+            Snapshot s = this.current;
+            BitSet positions = select(s, selector);
+            List<Task> removed = new ArrayList<>(positions.cardinality());
+            int write = positions.nextSetBit(0) & ~CHUNK_MASK;
+            // Chunks from the first affected one on are rebuilt, and slots past the new end are
+            // left empty, so later appends never write into a chunk an older snapshot still reads.
+            Task[][] chunks = new Task[s.chunks.length][];
+            System.arraycopy(s.chunks, 0, chunks, 0, write >>> CHUNK_SHIFT);
+            for (int read = write; read < s.size; read++) {
+                Task t = s.get(read);
+                if (positions.get(read)) {
+                    removed.add(t);
+                    this.keyCounts.computeIfPresent(t.normalizedKey(), (key, count) -> count == 1 ? null : count - 1);
+                } else {
+                    chunkFor(chunks, write)[write & CHUNK_MASK] = t;
+                    write++;
+                }
+            }
+            this.current = new Snapshot(chunks, write);
+            return removed;
+        } finally {
+            this.writeLock.unlock();
+        }
+    }
+
+    private List<Task> setDone(TaskSelector selector, boolean isDone) throws MangoException {
+        this.writeLock.lock();
+        try {
+            Snapshot s = this.current;
+            BitSet positions = select(s, selector);
+            List<Task> changed = new ArrayList<>(positions.cardinality());
+            Task[][] chunks = s.chunks.clone();
+            int copiedChunk = -1;
+            for (int i = positions.nextSetBit(0); i >= 0; i = positions.nextSetBit(i + 1)) {
+                Task t = s.get(i);
+                if (t.isDone != isDone) {
+                    int c = i >>> CHUNK_SHIFT;
+                    if (c != copiedChunk) {
+                        chunks[c] = chunks[c].clone();
+                        copiedChunk = c;
+                    }
+                    t = t.copy();
+                    t.isDone = isDone;
+                    chunks[c][i & CHUNK_MASK] = t;
+                }
+                changed.add(t);
+            }
+            this.current = new Snapshot(chunks, s.size);
+            return changed;
+        } finally {
+            this.writeLock.unlock();
+        }
+    }
+
+    /**
+     * Resolves a selector against a snapshot, as {@link TaskList#select(TaskSelector)} does, but
+     * by scanning rather than through indexes.
+     */
+    private static BitSet select(Snapshot s, TaskSelector selector) throws MangoException {
+        assert selector != null : "Selector must be non-null";
+        BitSet positions = new BitSet(s.size);
+        if (selector.isAll()) {
+            positions.set(0, s.size);
+        }
+        for (int r = 0; r < selector.rangeCount(); r++) {
+            // Another writer may have shortened the list since the selector was parsed.
+            positions.set(Math.min(selector.rangeFirst(r), s.size), Math.min(selector.rangeLast(r) + 1, s.size));
+        }
+        for (int i = 0; i < selector.idCount(); i++) {
+            int position = TaskList.indexOf(s, selector.idAt(i));
+            if (position >= 0) {
+                positions.set(position);
+            }
+        }
+        if (selector.hasTypes() || !selector.getKeywords().isEmpty()) {
+            for (int i = 0; i < s.size; i++) {
+                Task t = s.get(i);
+                if (selector.selectsType(t.getTypeIdentifier()) || containsAny(t.description, selector.getKeywords())) {
+                    positions.set(i);
+                }
+            }
+        }
+        if (positions.isEmpty()) {
+            throw new MangoException(MangoException.ERR_NO_MATCH);
+        }
+        return positions;
+    }
+
+    private static boolean containsAny(String description, List<String> keywords) {
+        for (String keyword : keywords) {
+            if (description.contains(keyword)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the chunk holding {@code position}, creating it if the position starts a new one.
+     */
+    private static Task[] chunkFor(Task[][] chunks, int position) {
+        int c = position >>> CHUNK_SHIFT;
+        if (chunks[c] == null) {
+            chunks[c] = new Task[CHUNK_SIZE];
+        }
+        return chunks[c];
+    }
+
+    /**
+     * Immutable view of the first {@code size} positions of a chunk array.
+     *
+     * <p>Slots at or beyond {@code size} may be filled in later by the writer; this view never
+     * reads them.</p>
+     */
+    private static final class Snapshot extends AbstractList<Task> implements RandomAccess {
+        private final Task[][] chunks;
+        private final int size;
+
+        Snapshot(Task[][] chunks, int size) {
+            this.chunks = chunks;
+            this.size = size;
+        }
+
+        @Override
+        public Task get(int index) {
+            Objects.checkIndex(index, this.size);
+            return this.chunks[index >>> CHUNK_SHIFT][index & CHUNK_MASK];
+        }
+
+        @Override
+        public int size() {
+            return this.size;
+        }
+    }
+}
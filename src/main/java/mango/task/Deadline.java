@@ -1,22 +1,20 @@
 package mango.task;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 
 import mango.exception.MangoException;
 
 /**
  * Task with a specific due date and time.
+ *
+ * <p>The due time is kept as {@linkplain EpochMinutes epoch minutes}; {@link #getBy()} builds a
+ * {@link LocalDateTime} on each call.</p>
  */
 public class Deadline extends Task {
     private static final String TYPE = "D";
-    private static final DateTimeFormatter INPUT_FMT =
-            DateTimeFormatter.ofPattern("yyyy-MM-dd HHmm");
-    private static final DateTimeFormatter OUTPUT_FMT =
-            DateTimeFormatter.ofPattern("MMM dd yyyy, h:mma");
 
-    private final LocalDateTime by;
+    private final long by;
 
     /**
      * Creates a {@code Deadline}.
@@ -29,12 +27,51 @@ public class Deadline extends Task {
         super(description);
         assert by != null && !by.isBlank() : "Deadline 'by' must be non-empty";
         try {
-            this.by = LocalDateTime.parse(by, INPUT_FMT);
+            this.by = EpochMinutes.parse(by);
         } catch (DateTimeParseException e) {
             throw new IllegalArgumentException(MangoException.ERR_BAD_DATE, e);
         }
     }
 
+    /**
+     * Creates a {@code Deadline} from an already-parsed due date/time.
+     *
+     * @param description the task description.
+     * @param by the due date/time.
+     */
+    public Deadline(String description, LocalDateTime by) {
+        this(description, EpochMinutes.of(by));
+    }
+
+    /**
+     * Creates a {@code Deadline} from a due date/time in epoch minutes.
+     *
+     * @param description the task description.
+     * @param by the due date/time, in minutes since {@code 1970-01-01 00:00}.
+     */
+    public Deadline(String description, long by) {
+        super(description);
+        this.by = by;
+    }
+
+    /**
+     * Returns the due date/time.
+     *
+     * @return the due date/time.
+     */
+    public LocalDateTime getBy() {
+        return EpochMinutes.toLocalDateTime(this.by);
+    }
+
+    /**
+     * Returns the due date/time without materializing it.
+     *
+     * @return the due date/time, in minutes since {@code 1970-01-01 00:00}.
+     */
+    public long getByMinute() {
+        return this.by;
+    }
+
     @Override
     protected String getTypeIdentifier() {
         return TYPE;
@@ -42,13 +79,12 @@ public class Deadline extends Task {
 
     @Override
     public String toFileString() {
-        assert this.by != null : "by must be parsed";
         return TYPE + FILE_SEP + statusFlag() + FILE_SEP
-                + this.description + FILE_SEP + by.format(INPUT_FMT);
+                + escapedDescription() + FILE_SEP + EpochMinutes.format(this.by) + idSuffix();
     }
 
     @Override
     public String toString() {
-        return super.toString() + " (by: " + by.format(OUTPUT_FMT) + ")";
+        return super.toString() + " (by: " + EpochMinutes.display(this.by) + ")";
     }
 }
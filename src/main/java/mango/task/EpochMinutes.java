@@ -0,0 +1,224 @@
+package mango.task;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Month;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Converts between task date/times and minutes since {@code 1970-01-01 00:00}.
+ *
+ * <p>{@link Deadline} and {@link Event} keep their times as these plain {@code long}s instead of
+ * {@link LocalDateTime} objects, and go through this class to read and write them. Times are
+ * local, with no time zone, so the count is taken as if in UTC.</p>
+ *
+ * <p>The parser and formatters work directly on characters and integers: {@link #parse} reads
+ * exactly {@code yyyy-MM-dd HHmm}, rejecting anything else (including impossible dates such as
+ * February 30th) with a {@link DateTimeParseException}; {@link #format} writes the same form; and
+ * {@link #display} writes {@code MMM dd yyyy, h:mma} with month names and AM/PM markers taken once
+ * from the default locale, as {@link DateTimeFormatter} would print them.</p>
+ */
+public final class EpochMinutes {
+    private static final int TEXT_LENGTH = 15;
+    private static final int MINUTES_PER_HOUR = 60;
+    private static final int MINUTES_PER_DAY = 24 * MINUTES_PER_HOUR;
+    private static final int SECONDS_PER_MINUTE = 60;
+    private static final int MAX_YEAR = 9999;
+    // Days between 0000-03-01 and 1970-01-01 in the proleptic Gregorian calendar.
+    private static final int DAYS_0000_TO_1970 = 719_468;
+    private static final int DAYS_PER_ERA = 146_097;
+
+    private static final String[] MONTH_NAMES = new String[12];
+    private static final String[] AM_PM = new String[2];
+
+    static {
+        DateTimeFormatter month = DateTimeFormatter.ofPattern("MMM");
+        for (Month m : Month.values()) {
+            MONTH_NAMES[m.ordinal()] = month.format(m);
+        }
+        DateTimeFormatter amPm = DateTimeFormatter.ofPattern("a");
+        AM_PM[0] = amPm.format(LocalTime.MIDNIGHT);
+        AM_PM[1] = amPm.format(LocalTime.NOON);
+    }
+
+    private EpochMinutes() {
+    }
+
+    /**
+     * Parses a date/time written as {@code yyyy-MM-dd HHmm}.
+     *
+     * @param text the text to parse, e.g. {@code 2025-12-31 1800}.
+     * @return the minutes since the epoch.
+     * @throws DateTimeParseException if {@code text} is not exactly in that form or names a date or
+     *         time that does not exist.
+     */
+    public static long parse(CharSequence text) {
+        if (text.length() != TEXT_LENGTH) {
+            throw new DateTimeParseException("Expected yyyy-MM-dd HHmm", text, 0);
+        }
+        expect(text, 4, '-');
+        expect(text, 7, '-');
+        expect(text, 10, ' ');
+        int year = digits(text, 0, 4);
+        int month = digits(text, 5, 7);
+        int day = digits(text, 8, 10);
+        int hour = digits(text, 11, 13);
+        int minute = digits(text, 13, 15);
+        if (year < 1 || year > MAX_YEAR) {
+            throw new DateTimeParseException("Invalid year", text, 0);
+        }
+        if (month < 1 || month > 12) {
+            throw new DateTimeParseException("Invalid month", text, 5);
+        }
+        if (day < 1 || day > lengthOfMonth(year, month)) {
+            throw new DateTimeParseException("Invalid day of month", text, 8);
+        }
+        if (hour > 23) {
+            throw new DateTimeParseException("Invalid hour", text, 11);
+        }
+        if (minute > 59) {
+            throw new DateTimeParseException("Invalid minute", text, 13);
+        }
+        return daysFromCivil(year, month, day) * MINUTES_PER_DAY + hour * MINUTES_PER_HOUR + minute;
+    }
+
+    /**
+     * Writes a date/time as {@code yyyy-MM-dd HHmm}, the form {@link #parse} reads.
+     *
+     * @param epochMinute the minutes since the epoch.
+     * @return the formatted text.
+     */
+    public static String format(long epochMinute) {
+        long days = Math.floorDiv(epochMinute, MINUTES_PER_DAY);
+        int minuteOfDay = Math.floorMod(epochMinute, MINUTES_PER_DAY);
+        long date = civilFromDays(days);
+        StringBuilder sb = new StringBuilder(TEXT_LENGTH);
+        pad(sb, year(date), 4).append('-');
+        pad(sb, month(date), 2).append('-');
+        pad(sb, day(date), 2).append(' ');
+        pad(sb, minuteOfDay / MINUTES_PER_HOUR, 2);
+        pad(sb, minuteOfDay % MINUTES_PER_HOUR, 2);
+        return sb.toString();
+    }
+
+    /**
+     * Writes a date/time for display, as {@code MMM dd yyyy, h:mma} (e.g. {@code Dec 31 2025, 6:00PM}).
+     *
+     * @param epochMinute the minutes since the epoch.
+     * @return the formatted text.
+     */
+    public static String display(long epochMinute) {
+        long days = Math.floorDiv(epochMinute, MINUTES_PER_DAY);
+        int minuteOfDay = Math.floorMod(epochMinute, MINUTES_PER_DAY);
+        long date = civilFromDays(days);
+        int hour = minuteOfDay / MINUTES_PER_HOUR;
+        int clockHour = hour % 12 == 0 ? 12 : hour % 12;
+        StringBuilder sb = new StringBuilder(20);
+        sb.append(MONTH_NAMES[month(date) - 1]).append(' ');
+        pad(sb, day(date), 2).append(' ');
+        pad(sb, year(date), 4).append(", ");
+        sb.append(clockHour).append(':');
+        pad(sb, minuteOfDay % MINUTES_PER_HOUR, 2);
+        return sb.append(AM_PM[hour / 12]).toString();
+    }
+
+    /**
+     * Converts a {@link LocalDateTime}, dropping seconds and nanoseconds.
+     *
+     * @param dateTime the date/time.
+     * @return the minutes since the epoch.
+     */
+    public static long of(LocalDateTime dateTime) {
+        assert dateTime != null : "Date/time must be non-null";
+        return Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), SECONDS_PER_MINUTE);
+    }
+
+    /**
+     * Materializes a {@link LocalDateTime}.
+     *
+     * @param epochMinute the minutes since the epoch.
+     * @return the date/time.
+     */
+    public static LocalDateTime toLocalDateTime(long epochMinute) {
+        return LocalDateTime.ofEpochSecond(epochMinute * SECONDS_PER_MINUTE, 0, ZoneOffset.UTC);
+    }
+
+    private static void expect(CharSequence text, int index, char separator) {
+        if (text.charAt(index) != separator) {
+            throw new DateTimeParseException("Expected '" + separator + "'", text, index);
+        }
+    }
+
+    private static int digits(CharSequence text, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new DateTimeParseException("Expected a digit", text, i);
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static StringBuilder pad(StringBuilder sb, int value, int width) {
+        for (int limit = 10; width > 1; width--, limit *= 10) {
+            if (value < limit) {
+                sb.append('0');
+            }
+        }
+        return sb.append(value);
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        return switch (month) {
+            case 2 -> (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    /**
+     * Returns the days since the epoch of a proleptic Gregorian date, counting years from March so
+     * that the leap day falls at the end of each year.
+     */
+    private static long daysFromCivil(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        int era = Math.floorDiv(y, 400);
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return (long) era * DAYS_PER_ERA + dayOfEra - DAYS_0000_TO_1970;
+    }
+
+    /**
+     * Inverts {@link #daysFromCivil}, packing the date as {@code year << 9 | month << 5 | day} so
+     * no object is allocated.
+     */
+    private static long civilFromDays(long days) {
+        long shifted = days + DAYS_0000_TO_1970;
+        long era = Math.floorDiv(shifted, DAYS_PER_ERA);
+        int dayOfEra = (int) (shifted - era * DAYS_PER_ERA);
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int shiftedMonth = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+        int month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        return year << 9 | month << 5 | day;
+    }
+
+    private static int year(long date) {
+        return (int) (date >> 9);
+    }
+
+    private static int month(long date) {
+        return (int) (date >> 5) & 0xF;
+    }
+
+    private static int day(long date) {
+        return (int) date & 0x1F;
+    }
+}
@@ -1,23 +1,21 @@
 package mango.task;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 
 import mango.exception.MangoException;
 
 /**
  * Task with a start and end date/time.
+ *
+ * <p>Both times are kept as {@linkplain EpochMinutes epoch minutes}; {@link #getFrom()} and
+ * {@link #getTo()} build a {@link LocalDateTime} on each call.</p>
  */
 public class Event extends Task {
     private static final String TYPE = "E";
-    private static final DateTimeFormatter INPUT_FMT =
-            DateTimeFormatter.ofPattern("yyyy-MM-dd HHmm");
-    private static final DateTimeFormatter OUTPUT_FMT =
-            DateTimeFormatter.ofPattern("MMM dd yyyy, h:mma");
 
-    private final LocalDateTime from;
-    private final LocalDateTime to;
+    private final long from;
+    private final long to;
 
     /**
      * Creates an {@code Event}.
@@ -32,16 +30,81 @@ public class Event extends Task {
         super(description);
         assert from != null && to != null : "Event times must be non-null";
         try {
-            this.from = LocalDateTime.parse(from, INPUT_FMT);
-            this.to = LocalDateTime.parse(to, INPUT_FMT);
+            this.from = EpochMinutes.parse(from);
+            this.to = EpochMinutes.parse(to);
         } catch (DateTimeParseException e) {
             throw new IllegalArgumentException(MangoException.ERR_BAD_DATE, e);
         }
-        if (!this.to.isAfter(this.from)) {
+        if (this.to <= this.from) {
             throw new IllegalArgumentException(MangoException.ERR_EVENT_RANGE);
         }
     }
 
+    /**
+     * Creates an {@code Event} from already-parsed start and end date/times.
+     *
+     * @param description the event description.
+     * @param from the start date/time.
+     * @param to the end date/time.
+     * @throws IllegalArgumentException if {@code to} is not strictly after {@code from}.
+     */
+    public Event(String description, LocalDateTime from, LocalDateTime to) {
+        this(description, EpochMinutes.of(from), EpochMinutes.of(to));
+    }
+
+    /**
+     * Creates an {@code Event} from start and end date/times in epoch minutes.
+     *
+     * @param description the event description.
+     * @param from the start date/time, in minutes since {@code 1970-01-01 00:00}.
+     * @param to the end date/time, in minutes since {@code 1970-01-01 00:00}.
+     * @throws IllegalArgumentException if {@code to} is not strictly after {@code from}.
+     */
+    public Event(String description, long from, long to) {
+        super(description);
+        if (to <= from) {
+            throw new IllegalArgumentException(MangoException.ERR_EVENT_RANGE);
+        }
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Returns the start date/time.
+     *
+     * @return the start date/time.
+     */
+    public LocalDateTime getFrom() {
+        return EpochMinutes.toLocalDateTime(this.from);
+    }
+
+    /**
+     * Returns the end date/time.
+     *
+     * @return the end date/time.
+     */
+    public LocalDateTime getTo() {
+        return EpochMinutes.toLocalDateTime(this.to);
+    }
+
+    /**
+     * Returns the start date/time without materializing it.
+     *
+     * @return the start date/time, in minutes since {@code 1970-01-01 00:00}.
+     */
+    public long getFromMinute() {
+        return this.from;
+    }
+
+    /**
+     * Returns the end date/time without materializing it.
+     *
+     * @return the end date/time, in minutes since {@code 1970-01-01 00:00}.
+     */
+    public long getToMinute() {
+        return this.to;
+    }
+
     @Override
     protected String getTypeIdentifier() {
         return TYPE;
@@ -49,17 +112,15 @@ public class Event extends Task {
 
     @Override
     public String toFileString() {
-        assert this.from != null : "from must be parsed";
-        assert this.to != null : "to must be parsed";
-        return TYPE + FILE_SEP + statusFlag() + FILE_SEP + this.description
-                + FILE_SEP + from.format(INPUT_FMT)
-                + FILE_SEP + to.format(INPUT_FMT);
+        return TYPE + FILE_SEP + statusFlag() + FILE_SEP + escapedDescription()
+                + FILE_SEP + EpochMinutes.format(this.from)
+                + FILE_SEP + EpochMinutes.format(this.to) + idSuffix();
     }
 
     @Override
     public String toString() {
         return super.toString()
-                + " (from: " + from.format(OUTPUT_FMT)
-                + " to: " + to.format(OUTPUT_FMT) + ")";
+                + " (from: " + EpochMinutes.display(this.from)
+                + " to: " + EpochMinutes.display(this.to) + ")";
     }
 }
@@ -0,0 +1,203 @@
+package mango.task;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.RandomAccess;
+import java.util.function.IntFunction;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Mutable list of tasks whose stored records are decoded only when first accessed.
+ *
+ * <p>Each position holds either a decoded task or the number of a record that the loader can
+ * decode on demand. Decoded tasks are cached, so a record is decoded at most once. Tasks added
+ * to the list are held directly.</p>
+ *
+ * <p>An optional id reader lets {@link #idAt(int)} read a stored task's id without decoding the
+ * task, so ids can be checked across the whole list while it stays undecoded.</p>
+ */
+public final class LazyTaskList extends AbstractList<Task> implements RandomAccess {
+    private static final int NOT_A_RECORD = -1;
+    private static final int MIN_CAPACITY = 16;
+
+    private IntFunction<Task> loader;
+    private IntToLongFunction idReader;
+    private int[] records;
+    private Task[] loaded;
+    private int size;
+
+    /**
+     * Constructs a list over {@code recordCount} stored records, none of which is decoded yet.
+     *
+     * @param recordCount the number of stored records.
+     * @param loader decodes the record with the given number; may throw an unchecked exception
+     *     if the record is corrupt.
+     */
+    public LazyTaskList(int recordCount, IntFunction<Task> loader) {
+        this(recordCount, loader, null);
+    }
+
+    /**
+     * Constructs a list over {@code recordCount} stored records that can also read each record's id
+     * without decoding it.
+     *
+     * @param recordCount the number of stored records.
+     * @param loader decodes the record with the given number; may throw an unchecked exception
+     *     if the record is corrupt.
+     * @param idReader reads the id of the record with the given number, as the decoded task would
+     *     have it; {@code null} to decode the record and discard the task instead.
+     */
+    public LazyTaskList(int recordCount, IntFunction<Task> loader, IntToLongFunction idReader) {
+        assert recordCount >= 0 : "Record count cannot be negative";
+        assert loader != null : "Loader must be non-null";
+        int capacity = Math.max(MIN_CAPACITY, recordCount);
+        this.loader = loader;
+        this.idReader = idReader;
+        this.records = new int[capacity];
+        this.loaded = new Task[capacity];
+        for (int i = 0; i < recordCount; i++) {
+            this.records[i] = i;
+        }
+        this.size = recordCount;
+    }
+
+    @Override
+    public Task get(int index) {
+        checkIndex(index);
+        Task t = this.loaded[index];
+        if (t == null) {
+            int record = this.records[index];
+            t = this.loader.apply(record);
+            assert t != null : "Loader must decode a task";
+            this.loaded[index] = t;
+        }
+        return t;
+    }
+
+    /**
+     * Returns the id of the task at {@code index} without caching a decoded task, reading it from
+     * the stored record directly when an id reader was given.
+     *
+     * @param index the zero-based position.
+     * @return the task's id, or {@code 0} if it has none.
+     */
+    public long idAt(int index) {
+        checkIndex(index);
+        Task t = this.loaded[index];
+        if (t != null) {
+            return t.id;
+        }
+        int record = this.records[index];
+        return this.idReader != null ? this.idReader.applyAsLong(record) : this.loader.apply(record).id;
+    }
+
+    @Override
+    public Task set(int index, Task t) {
+        assert t != null : "Cannot store null task";
+        Task previous = get(index);
+        this.loaded[index] = t;
+        this.records[index] = NOT_A_RECORD;
+        return previous;
+    }
+
+    @Override
+    public void add(int index, Task t) {
+        assert t != null : "Cannot add null task";
+        if (index < 0 || index > this.size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+        }
+        if (this.size == this.records.length) {
+            int capacity = this.size + (this.size >> 1);
+            this.records = Arrays.copyOf(this.records, capacity);
+            this.loaded = Arrays.copyOf(this.loaded, capacity);
+        }
+        System.arraycopy(this.records, index, this.records, index + 1, this.size - index);
+        System.arraycopy(this.loaded, index, this.loaded, index + 1, this.size - index);
+        this.records[index] = NOT_A_RECORD;
+        this.loaded[index] = t;
+        this.size++;
+        this.modCount++;
+    }
+
+    @Override
+    public Task remove(int index) {
+        Task removed = get(index);
+        int moved = this.size - index - 1;
+        System.arraycopy(this.records, index + 1, this.records, index, moved);
+        System.arraycopy(this.loaded, index + 1, this.loaded, index, moved);
+        this.size--;
+        this.loaded[this.size] = null;
+        this.modCount++;
+        return removed;
+    }
+
+    /**
+     * Removes every position set in {@code positions} in one compaction pass.
+     *
+     * <p>Unlike repeated {@link #remove(int)} calls, this shifts each surviving entry at most once
+     * and does not decode records that survive.</p>
+     *
+     * @param positions the zero-based positions to remove; none may be at or beyond the size.
+     */
+    public void removeAll(BitSet positions) {
+        assert positions.length() <= this.size : "Positions must lie within the list";
+        int write = positions.nextSetBit(0);
+        if (write < 0) {
+            return;
+        }
+        for (int read = write + 1; read < this.size; read++) {
+            if (!positions.get(read)) {
+                this.records[write] = this.records[read];
+                this.loaded[write] = this.loaded[read];
+                write++;
+            }
+        }
+        Arrays.fill(this.loaded, write, this.size, null);
+        this.size = write;
+        this.modCount++;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Decodes every remaining record and releases the loader.
+     *
+     * <p>Must be called before the underlying storage is rewritten, since records that are still
+     * encoded would otherwise be read from the new contents.</p>
+     */
+    public void materializeAll() {
+        if (this.loader == null) {
+            return;
+        }
+        for (int i = 0; i < this.size; i++) {
+            get(i);
+        }
+        this.loader = null;
+        this.idReader = null;
+    }
+
+    /**
+     * Returns how many positions currently hold a decoded task.
+     *
+     * @return the number of decoded tasks.
+     */
+    public int materializedCount() {
+        int count = 0;
+        for (int i = 0; i < this.size; i++) {
+            if (this.loaded[i] != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package mango.task;
+
+/**
+ * Immutable description of a {@code list} request: optional filters plus a window of results.
+ */
+public final class ListQuery {
+    /** Number of tasks shown per page when no limit is given. */
+    public static final int DEFAULT_LIMIT = 100;
+
+    /**
+     * Completion-status filter.
+     */
+    public enum Status {
+        ANY,
+        DONE,
+        PENDING
+    }
+
+    private final Status status;
+    private final String type;
+    private final int offset;
+    private final int limit;
+
+    /**
+     * Constructs a {@code ListQuery}.
+     *
+     * @param status the completion-status filter.
+     * @param type the one-letter type identifier to keep, or {@code null} for all types.
+     * @param offset the number of matching tasks to skip.
+     * @param limit the maximum number of tasks to return.
+     */
+    public ListQuery(Status status, String type, int offset, int limit) {
+        assert status != null : "Status filter must be non-null";
+        assert offset >= 0 : "Offset must be non-negative";
+        assert limit > 0 : "Limit must be positive";
+        this.status = status;
+        this.type = type;
+        this.offset = offset;
+        this.limit = limit;
+    }
+
+    /**
+     * Returns a query for the first page of all tasks.
+     *
+     * @return the default query.
+     */
+    public static ListQuery firstPage() {
+        return new ListQuery(Status.ANY, null, 0, DEFAULT_LIMIT);
+    }
+
+    /**
+     * Returns whether any filter is set, i.e. whether matches may be non-contiguous.
+     *
+     * @return {@code true} if a status or type filter is present.
+     */
+    public boolean isFiltered() {
+        return this.status != Status.ANY || this.type != null;
+    }
+
+    /**
+     * Returns whether the task passes this query's filters.
+     *
+     * @param t the task to test.
+     * @return {@code true} if the task matches.
+     */
+    public boolean matches(Task t) {
+        boolean isStatusMatch = switch (this.status) {
+            case ANY -> true;
+            case DONE -> t.isDone;
+            case PENDING -> !t.isDone;
+        };
+        return isStatusMatch && (this.type == null || this.type.equals(t.getTypeIdentifier()));
+    }
+
+    /**
+     * Returns the completion-status filter.
+     *
+     * @return the status filter.
+     */
+    public Status getStatus() {
+        return this.status;
+    }
+
+    /**
+     * Returns the type filter.
+     *
+     * @return the one-letter type identifier to keep, or {@code null} for all types.
+     */
+    public String getType() {
+        return this.type;
+    }
+
+    /**
+     * Returns the number of matching tasks to skip.
+     *
+     * @return the offset.
+     */
+    public int getOffset() {
+        return this.offset;
+    }
+
+    /**
+     * Returns the maximum number of tasks to return.
+     *
+     * @return the page size.
+     */
+    public int getLimit() {
+        return this.limit;
+    }
+}
@@ -0,0 +1,229 @@
+package mango.task;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Inverted indexes over task descriptions used by {@link TaskList#find(SearchQuery)}.
+ *
+ * <p>Two indexes are maintained side by side:</p>
+ * <ul>
+ *   <li>a word index mapping each lower-cased alphanumeric token to the tasks containing it,
+ *       used for whole-word {@code /all} and {@code /any} queries;</li>
+ *   <li>a trigram index mapping every 3-character substring of a description to the tasks
+ *       containing it, used to narrow case-sensitive substring searches before verifying them.</li>
+ * </ul>
+ *
+ * <p>Each posting list holds tasks in ascending {@link Task#getId()} order, which is also their
+ * order in the owning {@link TaskList}. New tasks always carry the highest id, so additions
+ * append to the end of a posting and removals locate their entry by binary search.</p>
+ */
+final class SearchIndex {
+    private static final int GRAM_LENGTH = 3;
+
+    private final Map<String, List<Task>> words = new HashMap<>();
+    private final Map<String, List<Task>> grams = new HashMap<>();
+
+    /**
+     * Indexes a task that was just appended to the owning list.
+     *
+     * @param t the task to index.
+     */
+    void add(Task t) {
+        for (String word : tokenize(t.description)) {
+            words.computeIfAbsent(word, k -> new ArrayList<>()).add(t);
+        }
+        for (String gram : trigrams(t.description)) {
+            grams.computeIfAbsent(gram, k -> new ArrayList<>()).add(t);
+        }
+    }
+
+    /**
+     * Removes a task from every posting list it appears in.
+     *
+     * @param t the task to remove.
+     */
+    void remove(Task t) {
+        for (String word : tokenize(t.description)) {
+            removeFromPosting(words, word, t);
+        }
+        for (String gram : trigrams(t.description)) {
+            removeFromPosting(grams, gram, t);
+        }
+    }
+
+    /**
+     * Returns tasks whose descriptions contain every one of the given words.
+     *
+     * @param queryWords the words to match, compared case-insensitively as whole tokens.
+     * @return the matching tasks in list order.
+     */
+    List<Task> findAll(Collection<String> queryWords) {
+        List<List<Task>> postings = new ArrayList<>();
+        for (String word : tokenize(queryWords)) {
+            List<Task> posting = words.get(word);
+            if (posting == null) {
+                return List.of();
+            }
+            postings.add(posting);
+        }
+        return intersect(postings);
+    }
+
+    /**
+     * Returns tasks whose descriptions contain at least one of the given words.
+     *
+     * @param queryWords the words to match, compared case-insensitively as whole tokens.
+     * @return the matching tasks in list order.
+     */
+    List<Task> findAny(Collection<String> queryWords) {
+        List<Task> merged = new ArrayList<>();
+        for (String word : tokenize(queryWords)) {
+            merged.addAll(words.getOrDefault(word, List.of()));
+        }
+        merged.sort(Comparator.comparingLong(t -> t.id));
+        List<Task> results = new ArrayList<>(merged.size());
+        for (Task t : merged) {
+            if (results.isEmpty() || results.get(results.size() - 1) != t) {
+                results.add(t);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Returns tasks whose descriptions contain {@code keyword} as a case-sensitive substring.
+     *
+     * <p>Keywords of at least {@value #GRAM_LENGTH} characters are answered from the trigram
+     * index; shorter keywords fall back to scanning {@code all}.</p>
+     *
+     * @param keyword the substring to look for.
+     * @param all every task in the owning list, in list order.
+     * @return the matching tasks in list order.
+     */
+    List<Task> findSubstring(String keyword, List<Task> all) {
+        Collection<Task> candidates = all;
+        if (keyword.length() >= GRAM_LENGTH) {
+            List<List<Task>> postings = new ArrayList<>();
+            for (String gram : trigrams(keyword)) {
+                List<Task> posting = grams.get(gram);
+                if (posting == null) {
+                    return List.of();
+                }
+                postings.add(posting);
+            }
+            candidates = intersect(postings);
+        }
+        List<Task> results = new ArrayList<>();
+        for (Task t : candidates) {
+            if (t.description.contains(keyword)) {
+                results.add(t);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Splits text into distinct lower-cased runs of letters and digits.
+     *
+     * @param text the text to tokenize.
+     * @return the distinct tokens, in first-occurrence order.
+     */
+    static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean isWordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (isWordChar && start < 0) {
+                start = i;
+            } else if (!isWordChar && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static Set<String> tokenize(Collection<String> texts) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String text : texts) {
+            tokens.addAll(tokenize(text));
+        }
+        return tokens;
+    }
+
+    private static Set<String> trigrams(String text) {
+        Set<String> result = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            result.add(text.substring(i, i + GRAM_LENGTH));
+        }
+        return result;
+    }
+
+    /**
+     * Intersects id-ordered posting lists, walking the shortest one and probing the rest.
+     *
+     * @param postings the posting lists; must be non-empty.
+     * @return tasks present in every posting, in id order.
+     */
+    private static List<Task> intersect(List<List<Task>> postings) {
+        if (postings.isEmpty()) {
+            return List.of();
+        }
+        postings.sort(Comparator.comparingInt(List::size));
+        List<Task> results = new ArrayList<>();
+        for (Task t : postings.get(0)) {
+            boolean isInAll = true;
+            for (int i = 1; i < postings.size() && isInAll; i++) {
+                isInAll = indexOf(postings.get(i), t) >= 0;
+            }
+            if (isInAll) {
+                results.add(t);
+            }
+        }
+        return results;
+    }
+
+    private static void removeFromPosting(Map<String, List<Task>> index, String key, Task t) {
+        List<Task> posting = index.get(key);
+        if (posting == null) {
+            return;
+        }
+        int i = indexOf(posting, t);
+        if (i >= 0) {
+            posting.remove(i);
+        }
+        if (posting.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    /**
+     * Binary-searches an id-ordered posting list for the given task.
+     *
+     * @return the position of {@code t}, or {@code -1} if absent.
+     */
+    private static int indexOf(List<Task> posting, Task t) {
+        int lo = 0;
+        int hi = posting.size() - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            long midId = posting.get(mid).id;
+            if (midId < t.id) {
+                lo = mid + 1;
+            } else if (midId > t.id) {
+                hi = mid - 1;
+            } else {
+                return posting.get(mid) == t ? mid : -1;
+            }
+        }
+        return -1;
+    }
+}
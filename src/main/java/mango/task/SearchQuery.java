@@ -0,0 +1,104 @@
+package mango.task;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Immutable description of a {@code find} request.
+ *
+ * <p>A query either looks for a case-sensitive substring (the classic {@code find} behaviour),
+ * or for whole words matched case-insensitively, requiring all of them ({@code /all}) or any of
+ * them ({@code /any}).</p>
+ */
+public final class SearchQuery {
+    /**
+     * How the terms of a {@link SearchQuery} are matched.
+     */
+    public enum Mode {
+        SUBSTRING,
+        ALL_WORDS,
+        ANY_WORD
+    }
+
+    private final Mode mode;
+    private final List<String> terms;
+
+    private SearchQuery(Mode mode, List<String> terms) {
+        assert terms != null && !terms.isEmpty() : "A query needs at least one term";
+        this.mode = mode;
+        this.terms = List.copyOf(terms);
+    }
+
+    /**
+     * Returns a query matching descriptions that contain {@code keyword}.
+     *
+     * @param keyword the case-sensitive substring.
+     * @return the query.
+     */
+    public static SearchQuery substring(String keyword) {
+        return new SearchQuery(Mode.SUBSTRING, List.of(keyword));
+    }
+
+    /**
+     * Returns a query matching descriptions that contain every word in {@code words}.
+     *
+     * @param words the words, matched case-insensitively as whole tokens.
+     * @return the query.
+     */
+    public static SearchQuery allWords(List<String> words) {
+        return new SearchQuery(Mode.ALL_WORDS, words);
+    }
+
+    /**
+     * Returns a query matching descriptions that contain at least one word in {@code words}.
+     *
+     * @param words the words, matched case-insensitively as whole tokens.
+     * @return the query.
+     */
+    public static SearchQuery anyWord(List<String> words) {
+        return new SearchQuery(Mode.ANY_WORD, words);
+    }
+
+    /**
+     * Returns how the terms are matched.
+     *
+     * @return the match mode.
+     */
+    public Mode getMode() {
+        return this.mode;
+    }
+
+    /**
+     * Returns the search terms.
+     *
+     * @return an unmodifiable list of terms.
+     */
+    public List<String> getTerms() {
+        return this.terms;
+    }
+
+    /**
+     * Returns whether a task matches, by examining its description directly rather than through a
+     * {@link SearchIndex}.
+     *
+     * @param t the task to test.
+     * @return {@code true} if the task's description satisfies this query.
+     */
+    boolean matches(Task t) {
+        if (this.mode == Mode.SUBSTRING) {
+            return t.description.contains(this.terms.get(0));
+        }
+        Set<String> words = SearchIndex.tokenize(t.description);
+        boolean isAny = this.mode == Mode.ANY_WORD;
+        boolean hasWord = false;
+        for (String term : this.terms) {
+            for (String word : SearchIndex.tokenize(term)) {
+                hasWord = true;
+                if (words.contains(word) == isAny) {
+                    return isAny;
+                }
+            }
+        }
+        return !isAny && hasWord;
+    }
+}
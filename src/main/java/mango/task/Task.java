@@ -1,15 +1,18 @@
 package mango.task;
 
 import java.io.IOException;
+import java.util.Arrays;
 
 /**
  * Base class representing a task with a description and completion status.
  */
-public abstract class Task {
+public abstract class Task implements Cloneable {
     protected static final String FILE_SEP = " | ";
     protected static final String FLAG_DONE = "1";
     protected static final String FLAG_NOT_DONE = "0";
     private static final String DELIMITER = " \\| ";
+    private static final char SEP_CHAR = '|';
+    private static final char ESCAPE = '\\';
 
     private static final String STATUS_DONE = "X";
     private static final String STATUS_NOT_DONE = " ";
@@ -21,13 +24,19 @@ public abstract class Task {
     private static final int TYPE_INDEX = 0;
     private static final int FLAG_INDEX = 1;
     private static final int DESC_INDEX = 2;
-    private static final int DEADLINE_BY_INDEX = 3;
-    private static final int EVENT_FROM_INDEX = 3;
-    private static final int EVENT_TO_INDEX = 4;
+    private static final int TODO_FIELDS = 3;
+    private static final int DEADLINE_FIELDS = 4;
+    private static final int EVENT_FIELDS = 5;
 
     protected String description;
     protected boolean isDone;
 
+    /**
+     * Stable identifier assigned by the owning {@link TaskList}, or {@code 0} while unassigned.
+     * Ids increase in insertion order, so they also order index postings.
+     */
+    long id;
+
     /**
      * Constructs a new task with the given description.
      *
@@ -42,6 +51,11 @@ public abstract class Task {
     /**
      * Deserializes a task from a line in the storage file.
      *
+     * <p>The id is an optional trailing field; lines written before ids existed leave the task
+     * unassigned. Descriptions are written with {@code |} and {@code \} escaped, so the separator
+     * never appears inside one. Lines written before that may still contain it; their description
+     * is taken as everything between the flag and the trailing date and id fields.</p>
+     *
      * @param line the serialized task string.
      * @return the corresponding {@code Task}.
      * @throws IOException if the type is unknown.
@@ -50,33 +64,104 @@ public abstract class Task {
         String[] parts = line.split(DELIMITER);
         String type = parts[TYPE_INDEX];
         boolean isDone = FLAG_DONE.equals(parts[FLAG_INDEX]);
-        String desc = parts[DESC_INDEX];
-        Task task = constructTaskFromType(type, desc, parts);
+        long id = idOfFileString(line);
+        int end = id > 0 ? parts.length - 1 : parts.length;
+        int dateIndex = end - (fieldCount(type) - TODO_FIELDS);
+        String desc = unescape(String.join(FILE_SEP, Arrays.copyOfRange(parts, DESC_INDEX, dateIndex)));
+        Task task = constructTaskFromType(type, desc, parts, dateIndex);
 
         if (isDone) {
             task.markAsDone();
         }
+        task.id = id;
+        assert task.id >= 0 : "Parsed ids are never negative";
         return task;
     }
 
+    /**
+     * Reads only the id of a line written by {@link #toFileString()}, as
+     * {@link #fromFileString(String)} would, without decoding the rest of the task.
+     *
+     * @param line the serialized task string.
+     * @return the id, or {@code 0} if the line has none.
+     */
+    public static long idOfFileString(String line) {
+        int first = line.indexOf(FILE_SEP);
+        if (first < 0) {
+            return 0;
+        }
+        int fields = 2;
+        int last = first;
+        for (int i = line.indexOf(FILE_SEP, first + FILE_SEP.length()); i >= 0;
+                i = line.indexOf(FILE_SEP, i + FILE_SEP.length())) {
+            fields++;
+            last = i;
+        }
+        if (fields <= fieldCount(line.substring(0, first))) {
+            return 0;
+        }
+        return parseId(line.substring(last + FILE_SEP.length()));
+    }
+
+    private static int fieldCount(String type) {
+        return switch (type) {
+            case DEADLINE_TYPE -> DEADLINE_FIELDS;
+            case EVENT_TYPE -> EVENT_FIELDS;
+            default -> TODO_FIELDS;
+        };
+    }
+
+    /**
+     * Parses a trailing id field, returning {@code 0} if it is not a number. Such a field is most
+     * likely a date, or the tail of a legacy description that itself contained the separator.
+     */
+    private static long parseId(String field) {
+        try {
+            return Math.max(0, Long.parseLong(field));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
     /**
      * Creates the appropriate task based on the type identifier.
      *
      * @param type the one-letter type code.
      * @param desc the task description.
      * @param parts the split serialized fields.
+     * @param dateIndex the index in {@code parts} of the first date field, if the type has any.
      * @return a concrete {@code Task} instance.
      * @throws IOException if the type is unknown.
      */
-    private static Task constructTaskFromType(String type, String desc, String[] parts) throws IOException {
+    private static Task constructTaskFromType(String type, String desc, String[] parts, int dateIndex)
+            throws IOException {
         return switch (type) {
             case TODO_TYPE -> new Todo(desc);
-            case DEADLINE_TYPE -> new Deadline(desc, parts[DEADLINE_BY_INDEX]);
-            case EVENT_TYPE -> new Event(desc, parts[EVENT_FROM_INDEX], parts[EVENT_TO_INDEX]);
+            case DEADLINE_TYPE -> new Deadline(desc, parts[dateIndex]);
+            case EVENT_TYPE -> new Event(desc, parts[dateIndex], parts[dateIndex + 1]);
             default -> throw new IOException("Unknown task type: " + type);
         };
     }
 
+    /**
+     * Reverses {@link #escapedDescription()}. A backslash before any other character is kept as is.
+     */
+    private static String unescape(String text) {
+        if (text.indexOf(ESCAPE) < 0) {
+            return text;
+        }
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == ESCAPE && i + 1 < text.length()
+                    && (text.charAt(i + 1) == ESCAPE || text.charAt(i + 1) == SEP_CHAR)) {
+                c = text.charAt(++i);
+            }
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+
     /**
      * Marks this task as done.
      */
@@ -91,11 +176,99 @@ public abstract class Task {
         this.isDone = false;
     }
 
+    /**
+     * Returns the task description.
+     *
+     * @return the description.
+     */
+    public String getDescription() {
+        return this.description;
+    }
+
+    /**
+     * Returns whether this task is done.
+     *
+     * @return {@code true} if done.
+     */
+    public boolean isDone() {
+        return this.isDone;
+    }
+
+    /**
+     * Returns the task's stable id.
+     *
+     * @return the id, or {@code 0} if the task has not been added to a {@link TaskList}.
+     */
+    public long getId() {
+        return this.id;
+    }
+
+    /**
+     * Restores an id read from storage.
+     *
+     * <p>Only loaders call this, before the task joins a {@link TaskList}.</p>
+     *
+     * @param id the stored id; must be positive.
+     */
+    public void restoreId(long id) {
+        assert id > 0 : "Stored ids are positive";
+        assert this.id == 0 : "Task already has an id";
+        this.id = id;
+    }
+
+    /**
+     * Returns a copy with the same id, description, dates and status.
+     *
+     * <p>Copy-on-write holders such as {@link ConcurrentTaskList} change a copy rather than a task
+     * that published snapshots still show. Every field is a primitive or immutable, so a shallow
+     * copy is enough.</p>
+     *
+     * @return the copy.
+     */
+    Task copy() {
+        try {
+            return (Task) super.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError("Task is Cloneable", e);
+        }
+    }
+
     /**
      * Returns the serialized string representation for saving to file.
      */
     public abstract String toFileString();
 
+    /**
+     * Returns the trailing id field for {@link #toFileString()}, or an empty string while the
+     * id is unassigned.
+     *
+     * @return the id suffix.
+     */
+    protected String idSuffix() {
+        return this.id == 0 ? "" : FILE_SEP + this.id;
+    }
+
+    /**
+     * Returns the description for {@link #toFileString()}, with every {@code |} and {@code \}
+     * preceded by a backslash so the description can never contain the field separator.
+     *
+     * @return the escaped description.
+     */
+    protected String escapedDescription() {
+        if (this.description.indexOf(SEP_CHAR) < 0 && this.description.indexOf(ESCAPE) < 0) {
+            return this.description;
+        }
+        StringBuilder sb = new StringBuilder(this.description.length() + 8);
+        for (int i = 0; i < this.description.length(); i++) {
+            char c = this.description.charAt(i);
+            if (c == SEP_CHAR || c == ESCAPE) {
+                sb.append(ESCAPE);
+            }
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+
     /**
      * Returns the persistence flag for completion status.
      *
@@ -122,6 +295,22 @@ public abstract class Task {
         return "[" + this.getTypeIdentifier() + "][" + this.getStatusMark() + "] " + this.description;
     }
 
+    /**
+     * Returns the key that identifies duplicates: the type identifier followed by the description
+     * folded the same way {@link String#equalsIgnoreCase(String)} compares characters.
+     *
+     * @return the normalized duplicate key.
+     */
+    String normalizedKey() {
+        String type = this.getTypeIdentifier();
+        StringBuilder sb = new StringBuilder(type.length() + this.description.length());
+        sb.append(type);
+        for (int i = 0; i < this.description.length(); i++) {
+            sb.append(Character.toLowerCase(Character.toUpperCase(this.description.charAt(i))));
+        }
+        return sb.toString();
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -133,4 +322,9 @@ public abstract class Task {
         return this.getTypeIdentifier().equals(other.getTypeIdentifier())
                 && this.description.equalsIgnoreCase(other.description);
     }
+
+    @Override
+    public int hashCode() {
+        return normalizedKey().hashCode();
+    }
 }
@@ -1,8 +1,12 @@
 package mango.task;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import mango.exception.MangoException;
 
@@ -12,9 +16,33 @@ import mango.exception.MangoException;
  * <p>Supports adding (rejects duplicates), removing, marking/unmarking,
  * searching by substring, and size/view queries. All index-based operations use
  * zero-based indices.</p>
+ *
+ * <p>Duplicate detection uses a hash index of {@link Task#normalizedKey()} kept in sync with the
+ * list, so {@link #add(Task)} runs in expected constant time. The index counts occurrences because
+ * a hand-edited storage file may still contain duplicates.</p>
+ *
+ * <p>Searches are served by a {@link SearchIndex} and schedule queries by a {@link TimeIndex}.
+ * These, and the duplicate index, are each built on first use and then updated incrementally, so
+ * lists that are never queried that way do not pay for it.</p>
+ *
+ * <p>A {@link LazyTaskList} passed to the constructor is adopted as the backing list rather than
+ * copied, so tasks are only decoded once a command reads them.</p>
+ *
+ * <p>Every task carries a stable id, assigned on {@link #add(Task)} from a counter that starts
+ * after the highest id already in the list. Ids therefore increase along the list, which lets
+ * {@link #indexOf(long)} and {@link #getById(long)} find a task by binary search, with no
+ * separate index to maintain.</p>
  */
 public class TaskList {
+    /** Removing more than one task in this many drops the search and time indexes for a rebuild. */
+    private static final int REBUILD_FRACTION = 8;
+
     private final List<Task> tasks;
+    private Map<String, Integer> keyCounts;
+    private SearchIndex searchIndex;
+    private TimeIndex timeIndex;
+    /** Id for the next added task, or {@code 0} until first needed so a lazy list stays undecoded. */
+    private long nextId;
 
     /**
      * Constructs an empty {@code TaskList}.
@@ -26,11 +54,93 @@ public class TaskList {
     /**
      * Constructs a {@code TaskList} initialized with existing tasks.
      *
+     * <p>A {@link LazyTaskList} is used directly and left undecoded; whoever loaded it must already
+     * have repaired its ids, as {@code Storage.loadLazily()} does. Any other list is copied, and ids
+     * that do not increase along it are reassigned as by {@link #assignMissingIds(List)}.</p>
+     *
      * @param initial the initial list of tasks.
      */
     public TaskList(List<Task> initial) {
         assert initial != null : "Initial list must be non-null";
-        this.tasks = new ArrayList<>(initial);
+        if (initial instanceof LazyTaskList lazy) {
+            this.tasks = lazy;
+        } else {
+            this.tasks = new ArrayList<>(initial);
+            assignMissingIds(this.tasks);
+        }
+    }
+
+    /**
+     * Gives every task without an id, or whose id does not exceed its predecessor's, the next id
+     * after its predecessor's, so ids keep increasing along the list.
+     *
+     * <p>Used when loading tasks saved before ids existed, or from a hand-edited file.</p>
+     *
+     * @param tasks the tasks in list order.
+     * @return whether any id was assigned.
+     */
+    public static boolean assignMissingIds(List<Task> tasks) {
+        assert tasks != null : "Task list must be non-null";
+        boolean isChanged = false;
+        long previous = 0;
+        for (Task t : tasks) {
+            if (t.id <= previous) {
+                t.id = previous + 1;
+                isChanged = true;
+            }
+            previous = t.id;
+        }
+        return isChanged;
+    }
+
+    /**
+     * Returns whether every task has an id greater than its predecessor's, so that
+     * {@link #assignMissingIds(List)} would change nothing.
+     *
+     * <p>A {@link LazyTaskList} is checked through {@link LazyTaskList#idAt(int)}, which reads stored
+     * ids without decoding the tasks when it can.</p>
+     *
+     * @param tasks the tasks in list order.
+     * @return whether the ids strictly increase along the list.
+     */
+    public static boolean hasIncreasingIds(List<Task> tasks) {
+        assert tasks != null : "Task list must be non-null";
+        long previous = 0;
+        for (int i = 0; i < tasks.size(); i++) {
+            long id = tasks instanceof LazyTaskList lazy ? lazy.idAt(i) : tasks.get(i).id;
+            if (id <= previous) {
+                return false;
+            }
+            previous = id;
+        }
+        return true;
+    }
+
+    /**
+     * Removes every set position from {@code tasks} in one compaction pass, keeping the survivors
+     * in order.
+     *
+     * <p>A {@link LazyTaskList} is compacted without decoding its surviving records.</p>
+     *
+     * @param tasks the list to compact.
+     * @param positions the zero-based positions to remove.
+     */
+    public static void removePositions(List<Task> tasks, BitSet positions) {
+        if (tasks instanceof LazyTaskList lazy) {
+            lazy.removeAll(positions);
+            return;
+        }
+        int size = tasks.size();
+        int write = positions.nextSetBit(0);
+        if (write < 0) {
+            return;
+        }
+        for (int read = write + 1; read < size; read++) {
+            if (!positions.get(read)) {
+                tasks.set(write++, tasks.get(read));
+            }
+        }
+        tasks.subList(write, size).clear();
     }
 
     /**
@@ -61,55 +171,121 @@ public class TaskList {
      */
     public Task add(Task t) throws MangoException {
         assert t != null : "Cannot add null task";
-        if (this.tasks.contains(t)) {
+        if (keyCounts().containsKey(t.normalizedKey())) {
             throw new MangoException(MangoException.ERR_DUPLICATE_TASK);
         }
+        assignId(t);
         this.tasks.add(t);
-        assert this.tasks.contains(t) : "Added task must be present";
+        index(t);
+        assert this.keyCounts.containsKey(t.normalizedKey()) : "Added task must be indexed";
         return t;
     }
 
     /**
-     * Removes tasks at the specified indices.
+     * Removes tasks at the specified indices; repeated indices remove their task once.
      *
      * @param indices the list of zero-based indices.
-     * @return the list of removed tasks.
+     * @return the removed tasks, in list order.
      */
     public List<Task> remove(List<Integer> indices) {
         assert indices != null && !indices.isEmpty() : "Indices must not be null or empty";
-        return indices.stream()
-                .sorted(Comparator.reverseOrder())
-                .mapToInt(i -> i)
-                .mapToObj(i -> tasks.remove(i))
-                .toList();
+        BitSet positions = new BitSet(this.tasks.size());
+        indices.forEach(positions::set);
+        return remove(positions);
     }
 
     /**
-     * Marks tasks as done at the specified indices.
+     * Removes the tasks at every set position.
      *
-     * @param indices the list of zero-based indices.
-     * @return the list of updated tasks.
+     * <p>Survivors are shifted down in a single pass, so removing {@code k} of {@code n} tasks
+     * costs {@code O(n)} rather than {@code O(k * n)}. When a large share of the list goes, the
+     * search and time indexes are dropped and rebuilt on next use instead of being updated task by
+     * task.</p>
+     *
+     * @param positions the zero-based positions to remove.
+     * @return the removed tasks, in list order.
      */
-    public List<Task> mark(List<Integer> indices) {
-        assert indices != null && !indices.isEmpty() : "Indices must not be null or empty";
-        return indices.stream()
-                .map(i -> tasks.get(i))
-                .peek(Task::markAsDone)
-                .toList();
+    public List<Task> remove(BitSet positions) {
+        int sizeBefore = this.tasks.size();
+        List<Task> removed = tasksAt(positions);
+        removePositions(this.tasks, positions);
+        if ((long) removed.size() * REBUILD_FRACTION > sizeBefore) {
+            this.searchIndex = null;
+            this.timeIndex = null;
+        }
+        removed.forEach(this::unindex);
+        assert this.tasks.size() == sizeBefore - removed.size() : "Every removed task must leave the list";
+        return removed;
     }
 
     /**
-     * Marks tasks as not done at the specified indices.
+     * Marks the tasks at every set position as done, in one pass over the positions.
      *
-     * @param indices the list of zero-based indices.
-     * @return the list of updated tasks.
+     * @param positions the zero-based positions, typically from {@link #select(TaskSelector)}.
+     * @return the updated tasks, in list order.
      */
-    public List<Task> unmark(List<Integer> indices) {
-        assert indices != null && !indices.isEmpty() : "Indices must not be null or empty";
-        return indices.stream()
-                .map(i -> tasks.get(i))
-                .peek(Task::markAsNotDone)
-                .toList();
+    public List<Task> mark(BitSet positions) {
+        List<Task> marked = tasksAt(positions);
+        marked.forEach(Task::markAsDone);
+        return marked;
+    }
+
+    /**
+     * Marks the tasks at every set position as not done, in one pass over the positions.
+     *
+     * @param positions the zero-based positions, typically from {@link #select(TaskSelector)}.
+     * @return the updated tasks, in list order.
+     */
+    public List<Task> unmark(BitSet positions) {
+        List<Task> unmarked = tasksAt(positions);
+        unmarked.forEach(Task::markAsNotDone);
+        return unmarked;
+    }
+
+    /**
+     * Resolves a selector to the positions of the tasks it selects.
+     *
+     * <p>Ranges are set as whole runs of bits and ids are found by binary search. Type selectors
+     * scan the list once, and keywords go through the search index, so a selector that names
+     * neither never reads a task it does not select.</p>
+     *
+     * @param selector the selector to resolve; its ranges must lie within the list.
+     * @return the zero-based positions of the selected tasks.
+     * @throws MangoException if the selector matches no task.
+     */
+    public BitSet select(TaskSelector selector) throws MangoException {
+        assert selector != null : "Selector must be non-null";
+        int size = this.tasks.size();
+        BitSet positions = new BitSet(size);
+        if (selector.isAll()) {
+            positions.set(0, size);
+        }
+        for (int r = 0; r < selector.rangeCount(); r++) {
+            assert selector.rangeLast(r) < size : "Ranges must lie within the list";
+            positions.set(selector.rangeFirst(r), selector.rangeLast(r) + 1);
+        }
+        for (int i = 0; i < selector.idCount(); i++) {
+            int position = indexOf(selector.idAt(i));
+            if (position >= 0) {
+                positions.set(position);
+            }
+        }
+        if (selector.hasTypes()) {
+            for (int i = 0; i < size; i++) {
+                if (selector.selectsType(this.tasks.get(i).getTypeIdentifier())) {
+                    positions.set(i);
+                }
+            }
+        }
+        for (String keyword : selector.getKeywords()) {
+            for (Task t : find(keyword)) {
+                positions.set(indexOf(t.id));
+            }
+        }
+        if (positions.isEmpty()) {
+            throw new MangoException(MangoException.ERR_NO_MATCH);
+        }
+        return positions;
     }
 
     /**
@@ -124,6 +300,107 @@ public class TaskList {
         return t;
     }
 
+    /**
+     * Retrieves the task with the given id.
+     *
+     * @param id the task id.
+     * @return the task, or {@code null} if no task has that id.
+     */
+    public Task getById(long id) {
+        int position = indexOf(id);
+        return position < 0 ? null : this.tasks.get(position);
+    }
+
+    /**
+     * Returns the zero-based position of the task with the given id.
+     *
+     * @param id the task id.
+     * @return the position, or {@code -1} if no task has that id.
+     */
+    public int indexOf(long id) {
+        return indexOf(this.tasks, id);
+    }
+
+    /**
+     * Returns the position of the task with the given id in a list whose ids increase along it.
+     *
+     * <p>Only the tasks the binary search visits are read, so a {@link LazyTaskList} decodes
+     * about log<sub>2</sub>(n) of its records.</p>
+     *
+     * @param tasks the tasks, in increasing id order.
+     * @param id the task id.
+     * @return the position, or {@code -1} if no task has that id.
+     */
+    public static int indexOf(List<Task> tasks, long id) {
+        int low = 0;
+        int high = tasks.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midId = tasks.get(mid).id;
+            if (midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns one page of the tasks matching {@code query}.
+     *
+     * <p>Unfiltered pages are a {@link List#subList} view of the backing list. Filtered pages scan
+     * the list once to count matches but only retain the tasks on the requested page, so memory
+     * is bounded by the page size.</p>
+     *
+     * @param query the filters and window to apply.
+     * @return the requested page.
+     */
+    public TaskPage page(ListQuery query) {
+        return page(this.tasks, query);
+    }
+
+    /**
+     * Returns one page of the tasks in {@code tasks} matching {@code query}, as
+     * {@link #page(ListQuery)} does for a list's own tasks.
+     *
+     * @param tasks the full list, in list order.
+     * @param query the filters and window to apply.
+     * @return the requested page.
+     */
+    public static TaskPage page(List<Task> tasks, ListQuery query) {
+        assert query != null : "Query must be non-null";
+        int size = tasks.size();
+        if (!query.isFiltered()) {
+            int from = Math.min(query.getOffset(), size);
+            int to = from + Math.min(query.getLimit(), size - from);
+            int[] positions = new int[to - from];
+            for (int i = 0; i < positions.length; i++) {
+                positions[i] = from + i;
+            }
+            return new TaskPage(tasks.subList(from, to), positions, from, size, false);
+        }
+
+        List<Task> pageTasks = new ArrayList<>();
+        int[] positions = new int[Math.min(query.getLimit(), size)];
+        int matches = 0;
+        for (int i = 0; i < size; i++) {
+            Task t = tasks.get(i);
+            if (!query.matches(t)) {
+                continue;
+            }
+            if (matches >= query.getOffset() && pageTasks.size() < positions.length) {
+                positions[pageTasks.size()] = i;
+                pageTasks.add(t);
+            }
+            matches++;
+        }
+        return new TaskPage(pageTasks, Arrays.copyOf(positions, pageTasks.size()),
+                query.getOffset(), matches, true);
+    }
+
     /**
      * Finds tasks whose descriptions contain the given keyword.
      *
@@ -132,14 +409,116 @@ public class TaskList {
      */
     public List<Task> find(String keyword) {
         assert keyword != null : "Keyword must be non-null (empty allowed)";
-        List<Task> results = this.tasks.stream()
-                .peek(t -> {
-                    assert t != null : "Task list must not contain nulls";
-                })
-                .filter(t -> t.description.contains(keyword))
-                .toList();
+        List<Task> results = searchIndex().findSubstring(keyword, this.tasks);
         assert results.stream().allMatch(t -> t.description.contains(keyword))
                 : "Every result must contain the keyword";
         return results;
     }
+
+    /**
+     * Finds tasks matching the given query.
+     *
+     * @param query the search query.
+     * @return the list of matching tasks, in list order.
+     */
+    public List<Task> find(SearchQuery query) {
+        assert query != null : "Query must be non-null";
+        return switch (query.getMode()) {
+            case SUBSTRING -> find(query.getTerms().get(0));
+            case ALL_WORDS -> searchIndex().findAll(query.getTerms());
+            case ANY_WORD -> searchIndex().findAny(query.getTerms());
+        };
+    }
+
+    /**
+     * Finds deadlines due within {@code [start, end)}.
+     *
+     * @param start the inclusive lower bound.
+     * @param end the exclusive upper bound.
+     * @return the matching deadlines, in list order.
+     */
+    public List<Task> dueBetween(LocalDateTime start, LocalDateTime end) {
+        assert start != null && end != null : "Window bounds must be non-null";
+        return timeIndex().deadlinesBetween(EpochMinutes.of(start), EpochMinutes.of(end));
+    }
+
+    /**
+     * Finds deadlines due within, and events overlapping, {@code [start, end)}.
+     *
+     * @param start the inclusive lower bound.
+     * @param end the exclusive upper bound.
+     * @return the matching tasks, in list order.
+     */
+    public List<Task> scheduledBetween(LocalDateTime start, LocalDateTime end) {
+        assert start != null && end != null : "Window bounds must be non-null";
+        return timeIndex().scheduledBetween(EpochMinutes.of(start), EpochMinutes.of(end));
+    }
+
+    private Map<String, Integer> keyCounts() {
+        if (this.keyCounts == null) {
+            this.keyCounts = new HashMap<>();
+            this.tasks.forEach(t -> this.keyCounts.merge(t.normalizedKey(), 1, Integer::sum));
+        }
+        return this.keyCounts;
+    }
+
+    private List<Task> tasksAt(BitSet positions) {
+        assert positions != null && positions.length() <= this.tasks.size() : "Positions must lie within the list";
+        List<Task> selected = new ArrayList<>(positions.cardinality());
+        for (int i = positions.nextSetBit(0); i >= 0; i = positions.nextSetBit(i + 1)) {
+            selected.add(this.tasks.get(i));
+        }
+        return selected;
+    }
+
+    private SearchIndex searchIndex() {
+        if (this.searchIndex == null) {
+            this.searchIndex = new SearchIndex();
+            this.tasks.forEach(this.searchIndex::add);
+        }
+        return this.searchIndex;
+    }
+
+    private TimeIndex timeIndex() {
+        if (this.timeIndex == null) {
+            this.timeIndex = new TimeIndex();
+            this.tasks.forEach(this.timeIndex::add);
+        }
+        return this.timeIndex;
+    }
+
+    private void assignId(Task t) {
+        if (this.nextId == 0) {
+            this.nextId = this.tasks.isEmpty() ? 1 : this.tasks.get(this.tasks.size() - 1).id + 1;
+        }
+        if (t.id == 0) {
+            t.id = this.nextId;
+        }
+        assert t.id >= this.nextId : "Tasks must be added in id order";
+        this.nextId = t.id + 1;
+    }
+
+    private void index(Task t) {
+        if (this.keyCounts != null) {
+            this.keyCounts.merge(t.normalizedKey(), 1, Integer::sum);
+        }
+        if (this.searchIndex != null) {
+            this.searchIndex.add(t);
+        }
+        if (this.timeIndex != null) {
+            this.timeIndex.add(t);
+        }
+    }
+
+    private void unindex(Task t) {
+        if (this.keyCounts != null) {
+            this.keyCounts.computeIfPresent(t.normalizedKey(), (key, count) -> count == 1 ? null : count - 1);
+        }
+        if (this.searchIndex != null) {
+            this.searchIndex.remove(t);
+        }
+        if (this.timeIndex != null) {
+            this.timeIndex.remove(t);
+        }
+    }
 }
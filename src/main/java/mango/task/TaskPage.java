@@ -0,0 +1,81 @@
+package mango.task;
+
+import java.util.List;
+
+/**
+ * One window of a {@link TaskList} returned for a {@link ListQuery}.
+ *
+ * <p>Each task is paired with its zero-based position in the full list, so the page can be
+ * numbered the same way commands such as {@code mark} address tasks.</p>
+ */
+public final class TaskPage {
+    private final List<Task> tasks;
+    private final int[] positions;
+    private final int offset;
+    private final int totalMatches;
+    private final boolean isFiltered;
+
+    TaskPage(List<Task> tasks, int[] positions, int offset, int totalMatches, boolean isFiltered) {
+        assert tasks.size() == positions.length : "Every task needs a position";
+        this.tasks = tasks;
+        this.positions = positions;
+        this.offset = offset;
+        this.totalMatches = totalMatches;
+        this.isFiltered = isFiltered;
+    }
+
+    /**
+     * Returns the tasks on this page.
+     *
+     * @return the tasks, in list order.
+     */
+    public List<Task> getTasks() {
+        return this.tasks;
+    }
+
+    /**
+     * Returns the zero-based list position of the {@code i}-th task on this page.
+     *
+     * @param i the index within the page.
+     * @return the position in the full list.
+     */
+    public int positionOf(int i) {
+        return this.positions[i];
+    }
+
+    /**
+     * Returns how many matching tasks precede this page.
+     *
+     * @return the number of skipped matches.
+     */
+    public int getOffset() {
+        return this.offset;
+    }
+
+    /**
+     * Returns the number of tasks matching the query across all pages.
+     *
+     * @return the total match count.
+     */
+    public int getTotalMatches() {
+        return this.totalMatches;
+    }
+
+    /**
+     * Returns whether the query had filters, as opposed to listing every task.
+     *
+     * @return {@code true} if filters were applied.
+     */
+    public boolean isFiltered() {
+        return this.isFiltered;
+    }
+
+    /**
+     * Returns whether this page shows only part of the matching tasks.
+     *
+     * @return {@code true} if matches exist before or after this page.
+     */
+    public boolean isPartial() {
+        return this.offset > 0 || this.offset + this.tasks.size() < this.totalMatches;
+    }
+}
@@ -0,0 +1,123 @@
+package mango.task;
+
+import java.util.List;
+
+/**
+ * Immutable description of which tasks a bulk command such as {@code mark} applies to.
+ *
+ * <p>A selector is the union of its parts: every task, inclusive position ranges, task ids, task
+ * types, and description keywords. Positions and ids are held in primitive arrays, so selecting
+ * ten thousand tasks by range costs two ints rather than ten thousand boxed indices.
+ * {@link TaskList#select(TaskSelector)} turns a selector into a set of positions.</p>
+ */
+public final class TaskSelector {
+    private final boolean isAll;
+    private final int[] ranges;
+    private final long[] ids;
+    private final String types;
+    private final List<String> keywords;
+
+    /**
+     * Constructs a {@code TaskSelector}.
+     *
+     * @param isAll whether every task is selected.
+     * @param ranges pairs of zero-based, inclusive first and last positions.
+     * @param ids the ids of selected tasks.
+     * @param types the one-letter type identifiers to select, concatenated; empty for none.
+     * @param keywords case-sensitive substrings; tasks whose descriptions contain any are selected.
+     */
+    public TaskSelector(boolean isAll, int[] ranges, long[] ids, String types, List<String> keywords) {
+        assert ranges != null && ranges.length % 2 == 0 : "Ranges must come in first/last pairs";
+        assert ids != null && types != null && keywords != null : "Selector parts must be non-null";
+        this.isAll = isAll;
+        this.ranges = ranges.clone();
+        this.ids = ids.clone();
+        this.types = types;
+        this.keywords = List.copyOf(keywords);
+    }
+
+    /**
+     * Returns whether every task is selected.
+     *
+     * @return {@code true} for {@code all}.
+     */
+    boolean isAll() {
+        return this.isAll;
+    }
+
+    /**
+     * Returns the number of position ranges.
+     *
+     * @return the range count.
+     */
+    int rangeCount() {
+        return this.ranges.length / 2;
+    }
+
+    /**
+     * Returns the first position of a range.
+     *
+     * @param range the range number, below {@link #rangeCount()}.
+     * @return the zero-based first position.
+     */
+    int rangeFirst(int range) {
+        return this.ranges[2 * range];
+    }
+
+    /**
+     * Returns the last position of a range.
+     *
+     * @param range the range number, below {@link #rangeCount()}.
+     * @return the zero-based, inclusive last position.
+     */
+    int rangeLast(int range) {
+        return this.ranges[2 * range + 1];
+    }
+
+    /**
+     * Returns the number of selected ids.
+     *
+     * @return the id count.
+     */
+    int idCount() {
+        return this.ids.length;
+    }
+
+    /**
+     * Returns one selected id.
+     *
+     * @param i the id number, below {@link #idCount()}.
+     * @return the task id.
+     */
+    long idAt(int i) {
+        return this.ids[i];
+    }
+
+    /**
+     * Returns whether any type is selected.
+     *
+     * @return {@code true} if at least one type was named.
+     */
+    boolean hasTypes() {
+        return !this.types.isEmpty();
+    }
+
+    /**
+     * Returns whether tasks of the given type are selected.
+     *
+     * @param typeIdentifier the one-letter type identifier.
+     * @return {@code true} if the type was named.
+     */
+    boolean selectsType(String typeIdentifier) {
+        return this.types.contains(typeIdentifier);
+    }
+
+    /**
+     * Returns the description keywords.
+     *
+     * @return the keywords, possibly empty.
+     */
+    List<String> getKeywords() {
+        return this.keywords;
+    }
+}
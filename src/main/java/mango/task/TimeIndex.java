@@ -0,0 +1,209 @@
+package mango.task;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * Time-ordered indexes over {@link Deadline} instants and {@link Event} ranges.
+ *
+ * <p>Deadlines live in a sorted map keyed by their due time, so a range query is a
+ * {@link NavigableMap#subMap} walk. Events live in an interval tree: a treap ordered by start
+ * time (ties broken by {@link Task#getId()}) where every node also records the latest end time
+ * in its subtree, which lets an overlap query skip subtrees that end before the window opens.
+ * Both answer in {@code O(log n + k)} expected time for {@code k} results.</p>
+ *
+ * <p>Times are {@linkplain EpochMinutes epoch minutes}, so comparisons never materialize a
+ * {@code LocalDateTime}. All query windows are half-open: {@code [start, end)}.</p>
+ */
+final class TimeIndex {
+    private final NavigableMap<Long, List<Task>> deadlines = new TreeMap<>();
+    private final Random priorities = new Random();
+    private Node events;
+
+    /**
+     * Interval tree node holding one event.
+     */
+    private static final class Node {
+        private final Event event;
+        private final int priority;
+        private Node left;
+        private Node right;
+        private long maxTo;
+
+        private Node(Event event, int priority) {
+            this.event = event;
+            this.priority = priority;
+            this.maxTo = event.getToMinute();
+        }
+
+        private void update() {
+            maxTo = event.getToMinute();
+            if (left != null && left.maxTo > maxTo) {
+                maxTo = left.maxTo;
+            }
+            if (right != null && right.maxTo > maxTo) {
+                maxTo = right.maxTo;
+            }
+        }
+    }
+
+    /**
+     * Indexes a task if it has a date; todos are ignored.
+     *
+     * @param t the task to index.
+     */
+    void add(Task t) {
+        if (t instanceof Deadline d) {
+            deadlines.computeIfAbsent(d.getByMinute(), k -> new ArrayList<>()).add(d);
+        } else if (t instanceof Event e) {
+            events = insert(events, new Node(e, priorities.nextInt()));
+        }
+    }
+
+    /**
+     * Removes a task from the index; todos are ignored.
+     *
+     * @param t the task to remove.
+     */
+    void remove(Task t) {
+        if (t instanceof Deadline d) {
+            List<Task> atInstant = deadlines.get(d.getByMinute());
+            if (atInstant != null) {
+                atInstant.removeIf(other -> other == d);
+                if (atInstant.isEmpty()) {
+                    deadlines.remove(d.getByMinute());
+                }
+            }
+        } else if (t instanceof Event e) {
+            events = delete(events, e);
+        }
+    }
+
+    /**
+     * Returns deadlines due within {@code [start, end)}.
+     *
+     * @param start the inclusive lower bound, in epoch minutes.
+     * @param end the exclusive upper bound, in epoch minutes.
+     * @return the matching deadlines in list order.
+     */
+    List<Task> deadlinesBetween(long start, long end) {
+        List<Task> results = new ArrayList<>();
+        for (List<Task> atInstant : deadlines.subMap(start, true, end, false).values()) {
+            results.addAll(atInstant);
+        }
+        return inListOrder(results);
+    }
+
+    /**
+     * Returns deadlines due within, and events overlapping, {@code [start, end)}.
+     *
+     * @param start the inclusive lower bound, in epoch minutes.
+     * @param end the exclusive upper bound, in epoch minutes.
+     * @return the matching tasks in list order.
+     */
+    List<Task> scheduledBetween(long start, long end) {
+        List<Task> results = new ArrayList<>(deadlinesBetween(start, end));
+        collectOverlapping(events, start, end, results);
+        return inListOrder(results);
+    }
+
+    private static List<Task> inListOrder(List<Task> tasks) {
+        tasks.sort(Comparator.comparingLong(t -> t.id));
+        return tasks;
+    }
+
+    private static void collectOverlapping(Node node, long start, long end,
+            Collection<Task> results) {
+        if (node == null || node.maxTo <= start) {
+            return;
+        }
+        collectOverlapping(node.left, start, end, results);
+        if (node.event.getFromMinute() >= end) {
+            return;
+        }
+        if (node.event.getToMinute() > start) {
+            results.add(node.event);
+        }
+        collectOverlapping(node.right, start, end, results);
+    }
+
+    private static int compare(Event a, Event b) {
+        int byStart = Long.compare(a.getFromMinute(), b.getFromMinute());
+        return byStart != 0 ? byStart : Long.compare(a.id, b.id);
+    }
+
+    private static Node insert(Node root, Node node) {
+        if (root == null) {
+            return node;
+        }
+        if (compare(node.event, root.event) < 0) {
+            root.left = insert(root.left, node);
+            if (root.left.priority > root.priority) {
+                root = rotateRight(root);
+            }
+        } else {
+            root.right = insert(root.right, node);
+            if (root.right.priority > root.priority) {
+                root = rotateLeft(root);
+            }
+        }
+        root.update();
+        return root;
+    }
+
+    private static Node delete(Node root, Event e) {
+        if (root == null) {
+            return null;
+        }
+        if (root.event == e) {
+            return merge(root.left, root.right);
+        }
+        if (compare(e, root.event) < 0) {
+            root.left = delete(root.left, e);
+        } else {
+            root.right = delete(root.right, e);
+        }
+        root.update();
+        return root;
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        node.update();
+        pivot.update();
+        return pivot;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        node.update();
+        pivot.update();
+        return pivot;
+    }
+}
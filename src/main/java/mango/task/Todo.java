@@ -22,6 +22,6 @@ public class Todo extends Task {
 
     @Override
     public String toFileString() {
-        return TYPE + FILE_SEP + statusFlag() + FILE_SEP + this.description;
+        return TYPE + FILE_SEP + statusFlag() + FILE_SEP + escapedDescription() + idSuffix();
     }
 }
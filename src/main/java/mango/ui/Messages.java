@@ -1,8 +1,10 @@
 package mango.ui;
 
 import java.util.List;
+import java.util.Map;
 
 import mango.task.Task;
+import mango.task.TaskPage;
 
 /**
  * Static helpers that format user-visible strings for MangoBot responses.
@@ -40,6 +42,20 @@ public final class Messages {
                 + "Don’t worry, your data should still be here, but please try again.";
     }
 
+    /**
+     * Returns the message shown when damaged storage was only partly loaded.
+     *
+     * @param skippedTasks the number of stored tasks that could not be read.
+     * @param skippedChanges the number of journaled changes that were discarded.
+     * @return the formatted recovery message.
+     */
+    public static String recovered(int skippedTasks, int skippedChanges) {
+        return "Heads up! Part of your saved data was damaged, so I left out "
+                + skippedTasks + " task" + (skippedTasks == 1 ? "" : "s") + " and "
+                + skippedChanges + " recent change" + (skippedChanges == 1 ? "" : "s") + ".\n"
+                + "Everything else is loaded and safely saved again.";
+    }
+
     /**
      * Returns the storage-saving failure message.
      */
@@ -103,14 +119,36 @@ public final class Messages {
     }
 
     /**
-     * Returns a numbered listing of tasks or a message if empty.
+     * Returns a numbered listing of one page of tasks, or a message if nothing matches.
+     *
+     * <p>Tasks are numbered by their position in the full list. When the page holds only part
+     * of the matches, a footer tells the user how to see the rest.</p>
      *
-     * @param tasks the tasks to list.
+     * @param page the page to list.
      * @return the formatted list text.
      */
-    public static String list(List<Task> tasks) {
-        return enumerateTasks("Here’s what’s on your plate today:",
-                "Your task basket is empty — time to add some fresh mangoes!", tasks);
+    public static String list(TaskPage page) {
+        String header = "Here’s what’s on your plate today:";
+        if (page.getTotalMatches() == 0) {
+            return header + "\n" + (page.isFiltered()
+                    ? "No tasks match those filters — try loosening them!"
+                    : "Your task basket is empty — time to add some fresh mangoes!");
+        }
+        if (page.getTasks().isEmpty()) {
+            return header + "\nThat page is empty — there are only "
+                    + page.getTotalMatches() + " matching tasks.";
+        }
+        StringBuilder sb = new StringBuilder(
+                header.length() + TaskRenderer.estimateLength(page.getTasks().size()));
+        sb.append(header);
+        TaskRenderer.appendNumbered(sb, page);
+        if (page.isPartial()) {
+            sb.append("\nShowing ").append(page.getOffset() + 1)
+                    .append('-').append(page.getOffset() + page.getTasks().size())
+                    .append(" of ").append(page.getTotalMatches())
+                    .append(" — use list --page <n> to see more.");
+        }
+        return sb.toString();
     }
 
     /**
@@ -125,19 +163,83 @@ public final class Messages {
                 "Hmm... no matching tasks here. Try a different keyword!", tasks);
     }
 
+    /**
+     * Returns a numbered listing of deadlines due in a date range or a message if none are due.
+     *
+     * @param tasks the deadlines due.
+     * @return the formatted list text.
+     */
+    public static String due(List<Task> tasks) {
+        return enumerateTasks(
+                "Here’s what’s coming due:",
+                "Nothing due in that window — enjoy the breather!", tasks);
+    }
+
+    /**
+     * Returns a numbered listing of tasks scheduled on a date or a message if none are scheduled.
+     *
+     * @param tasks the deadlines and events on that date.
+     * @return the formatted list text.
+     */
+    public static String scheduled(List<Task> tasks) {
+        return enumerateTasks(
+                "Here’s what’s on the calendar for that day:",
+                "Your calendar is clear that day — nothing scheduled!", tasks);
+    }
+
+    /**
+     * Returns the confirmation message after defining an alias.
+     *
+     * @param alias the new alias.
+     * @param keyword the keyword of the command it stands for.
+     * @return the confirmation text.
+     */
+    public static String aliasAdded(String alias, String keyword) {
+        return "Got it! From now on, " + alias + " means " + keyword + ".";
+    }
+
+    /**
+     * Returns the confirmation message after removing an alias.
+     *
+     * @param alias the removed alias.
+     * @return the confirmation text.
+     */
+    public static String aliasRemoved(String alias) {
+        return "Okay, I’ve forgotten the alias " + alias + ".";
+    }
+
+    /**
+     * Returns a listing of every alias and its command, or a message if there are none.
+     *
+     * @param aliases each alias and the keyword it stands for.
+     * @return the formatted list text.
+     */
+    public static String aliases(Map<String, String> aliases) {
+        String header = "Here are your command aliases:";
+        if (aliases.isEmpty()) {
+            return header + "\nNo aliases yet — try alias rm delete!";
+        }
+        StringBuilder sb = new StringBuilder(header);
+        for (Map.Entry<String, String> alias : aliases.entrySet()) {
+            sb.append("\n   ").append(alias.getKey()).append(" → ").append(alias.getValue());
+        }
+        return sb.toString();
+    }
+
     private static String enumerateMassOpTasks(String header, List<Task> tasks) {
-        return header + tasks.stream()
-                .map(t -> "   " + t)
-                .reduce((line1, line2) -> line1 + "\n" + line2)
-                .orElse("");
+        StringBuilder sb = new StringBuilder(header.length() + TaskRenderer.estimateLength(tasks.size()));
+        sb.append(header);
+        TaskRenderer.appendIndented(sb, tasks);
+        return sb.toString();
     }
 
     private static String enumerateTasks(String header, String textToShow, List<Task> tasks) {
         if (tasks.isEmpty()) {
             return header + "\n" + textToShow;
         }
-        return header + tasks.stream()
-                .map(task -> (tasks.indexOf(task) + 1) + "." + task)
-                .reduce("", (acc, line) -> acc + "\n" + line);
+        StringBuilder sb = new StringBuilder(header.length() + TaskRenderer.estimateLength(tasks.size()));
+        sb.append(header);
+        TaskRenderer.appendNumbered(sb, tasks);
+        return sb.toString();
     }
 }
@@ -0,0 +1,82 @@
+package mango.ui;
+
+import java.util.List;
+
+import mango.task.Task;
+import mango.task.TaskPage;
+
+/**
+ * Renders task listings into a caller-supplied {@link StringBuilder} in a single linear pass.
+ *
+ * <p>Numbers are derived from each task's position in the rendered list rather than looked up,
+ * so rendering {@code n} tasks costs {@code O(n)} regardless of duplicates. Numbered lines end
+ * with the task's {@code #id}, which commands accept in place of a number that may shift.</p>
+ */
+public final class TaskRenderer {
+    private static final int ESTIMATED_LINE_LENGTH = 64;
+    private static final String INDENT = "   ";
+
+    private TaskRenderer() {
+    }
+
+    /**
+     * Returns a capacity hint for a builder that will hold {@code count} rendered tasks.
+     *
+     * @param count the number of tasks to be rendered.
+     * @return the suggested initial capacity in characters.
+     */
+    public static int estimateLength(int count) {
+        return count * ESTIMATED_LINE_LENGTH;
+    }
+
+    /**
+     * Appends one {@code "\n<n>.<task> (#<id>)"} line per task, numbering from 1.
+     *
+     * @param out the builder to append to.
+     * @param tasks the tasks to render.
+     */
+    public static void appendNumbered(StringBuilder out, List<Task> tasks) {
+        int number = 1;
+        for (Task task : tasks) {
+            out.append('\n').append(number++).append('.').append(task);
+            appendId(out, task);
+        }
+    }
+
+    /**
+     * Appends one {@code "\n<n>.<task> (#<id>)"} line per task on the page, numbered by list position.
+     *
+     * @param out the builder to append to.
+     * @param page the page to render.
+     */
+    public static void appendNumbered(StringBuilder out, TaskPage page) {
+        List<Task> tasks = page.getTasks();
+        for (int i = 0; i < tasks.size(); i++) {
+            out.append('\n').append(page.positionOf(i) + 1).append('.').append(tasks.get(i));
+            appendId(out, tasks.get(i));
+        }
+    }
+
+    /**
+     * Appends one indented line per task, separated by newlines and without a trailing newline.
+     *
+     * @param out the builder to append to.
+     * @param tasks the tasks to render.
+     */
+    public static void appendIndented(StringBuilder out, List<Task> tasks) {
+        boolean isFirst = true;
+        for (Task task : tasks) {
+            if (!isFirst) {
+                out.append('\n');
+            }
+            out.append(INDENT).append(task);
+            isFirst = false;
+        }
+    }
+
+    private static void appendId(StringBuilder out, Task task) {
+        if (task.getId() != 0) {
+            out.append(" (#").append(task.getId()).append(')');
+        }
+    }
+}
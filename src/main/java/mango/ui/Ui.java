@@ -1,13 +1,56 @@
 package mango.ui;
 
-import java.util.Scanner;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 
 /**
  * Console I/O helper that prints messages and reads user commands.
+ *
+ * <p>Output goes through a buffered writer, so large listings are streamed to {@code System.out}
+ * without building a second, wrapped copy. An interactive {@code Ui} flushes once per message. A
+ * script {@code Ui} flushes only when it is about to wait for more input, so replies to a file or
+ * pipe of commands are written in large blocks, and can be suppressed altogether.</p>
  */
 public class Ui {
     private static final String LINE = "____________________________________________________________";
-    private final Scanner scanner = new Scanner(System.in);
+    private final BufferedReader in;
+    private final PrintWriter out;
+    private final boolean isInteractive;
+    private final boolean isQuiet;
+
+    /**
+     * Constructs an interactive {@code Ui} on {@code System.in} and {@code System.out}.
+     */
+    public Ui() {
+        this(new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8)),
+                new OutputStreamWriter(System.out, StandardCharsets.UTF_8), true, false);
+    }
+
+    /**
+     * Constructs a {@code Ui} that runs a script of commands.
+     *
+     * @param in the source of commands, one per line.
+     * @param out where replies are written.
+     * @param isQuiet whether replies are discarded instead of written.
+     */
+    public Ui(BufferedReader in, Writer out, boolean isQuiet) {
+        this(in, out, false, isQuiet);
+    }
+
+    private Ui(BufferedReader in, Writer out, boolean isInteractive, boolean isQuiet) {
+        assert in != null && out != null : "Input and output must be non-null";
+        this.in = in;
+        this.out = new PrintWriter(new BufferedWriter(out));
+        this.isInteractive = isInteractive;
+        this.isQuiet = isQuiet;
+    }
 
     /**
      * Prints a wrapped, user-visible message.
@@ -15,27 +58,45 @@ public class Ui {
      * @param message The message to show.
      */
     public void showMessage(String message) {
-        String wrappedMessage = wrap(message);
-        System.out.println(wrappedMessage);
+        if (isQuiet) {
+            return;
+        }
+        out.print(LINE);
+        out.print('\n');
+        out.print(message);
+        out.print('\n');
+        out.println(LINE);
+        if (isInteractive) {
+            out.flush();
+        }
     }
 
     /**
-     * Reads one line of user input from {@code System.in}.
+     * Reads one line of input, first writing any buffered replies if the line is not yet available.
      *
-     * @return the raw input line.
+     * @return the raw input line, or {@code null} at the end of the input.
+     * @throws UncheckedIOException if the input cannot be read.
      */
     public String readCommand() {
-        return scanner.nextLine();
+        try {
+            if (!in.ready()) {
+                out.flush();
+            }
+            return in.readLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     /**
-     * Closes the underlying input scanner.
+     * Writes any buffered replies and closes the input.
      */
     public void close() {
-        scanner.close();
-    }
-
-    private String wrap(String body) {
-        return LINE + "\n" + body + "\n" + LINE;
+        out.flush();
+        try {
+            in.close();
+        } catch (IOException e) {
+            // Nothing more will be read, so a failure to release the input changes nothing.
+        }
     }
 }
@@ -0,0 +1,106 @@
+package mango.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import mango.io.Durability;
+import mango.ui.Ui;
+
+public class MangoServerTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void serve_pipelinedCommands_repliesInOrderAndClosesAfterBye() throws IOException {
+        Ui silent = new Ui(new BufferedReader(Reader.nullReader()), Writer.nullWriter(), true);
+        MangoBot mangoBot = new MangoBot(dir.resolve("mango.txt").toString(), Durability.ON_INTERVAL, silent);
+        try (MangoServer server = new MangoServer(mangoBot);
+                Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.start(0))) {
+            OutputStream out = socket.getOutputStream();
+            out.write("todo a\ntodo b\nlist\nbye\nlist\n".getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            BufferedReader in = new BufferedReader(
+                    new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+
+            List<String> replies = new ArrayList<>();
+            for (String reply = readReply(in); reply != null; reply = readReply(in)) {
+                replies.add(reply);
+            }
+
+            assertEquals(4, replies.size(), "Commands after bye must not be answered: " + replies);
+            assertTrue(replies.get(0).contains("a"), replies.get(0));
+            assertTrue(replies.get(2).contains("1.[T][ ] a") && replies.get(2).contains("2.[T][ ] b"), replies.get(2));
+            assertNull(in.readLine(), "The server should close the connection after bye");
+        }
+    }
+
+    @Test
+    void serve_aliasForBye_closesConnectionAndSkipsLaterCommands() throws IOException {
+        try (MangoServer server = new MangoServer(newBot());
+                Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.start(0))) {
+            socket.setSoTimeout(5000);
+            socket.getOutputStream().write("alias q bye\nq\ntodo late\n".getBytes(StandardCharsets.UTF_8));
+            BufferedReader in = new BufferedReader(
+                    new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+
+            List<String> replies = new ArrayList<>();
+            for (String reply = readReply(in); reply != null; reply = readReply(in)) {
+                replies.add(reply);
+            }
+
+            assertEquals(2, replies.size(), "Commands after an alias for bye must not be answered: " + replies);
+        }
+    }
+
+    @Test
+    void close_connectedClient_isDisconnected() throws IOException {
+        MangoServer server = new MangoServer(newBot());
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.start(0))) {
+            socket.setSoTimeout(5000);
+            socket.getOutputStream().write("list\n".getBytes(StandardCharsets.UTF_8));
+            BufferedReader in = new BufferedReader(
+                    new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            assertTrue(readReply(in) != null);
+
+            server.close();
+
+            assertNull(readReply(in), "close() should end every open connection");
+        }
+    }
+
+    private MangoBot newBot() throws IOException {
+        Ui silent = new Ui(new BufferedReader(Reader.nullReader()), Writer.nullWriter(), true);
+        return new MangoBot(dir.resolve("mango.txt").toString(), Durability.ON_INTERVAL, silent);
+    }
+
+    /**
+     * Reads one framed reply, or returns {@code null} if the connection has ended.
+     */
+    private static String readReply(BufferedReader in) throws IOException {
+        StringBuilder reply = new StringBuilder();
+        for (String line = in.readLine(); line != null; line = in.readLine()) {
+            if (line.equals(MangoServer.END_OF_REPLY)) {
+                return reply.toString();
+            }
+            reply.append(line.startsWith(".") ? line.substring(1) : line).append('\n');
+        }
+        return null;
+    }
+}
@@ -0,0 +1,415 @@
+package mango.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import mango.task.Deadline;
+import mango.task.Event;
+import mango.task.LazyTaskList;
+import mango.task.Task;
+import mango.task.TaskList;
+import mango.task.Todo;
+
+public class StorageTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void load_journaledMutations_replaysOverSnapshot() throws IOException {
+        String file = dir.resolve("mango.txt").toString();
+        Storage storage = new Storage(file, true);
+        List<Task> tasks = todos("a", "b", "c");
+        for (Task t : tasks) {
+            storage.recordAdd(t, tasks);
+        }
+        tasks.get(2).markAsDone();
+        storage.recordMark(List.of(tasks.get(2)), tasks);
+        storage.recordDelete(List.of(tasks.remove(0)), tasks);
+
+        List<Task> loaded = new Storage(file, true).load();
+
+        assertEquals(2, loaded.size());
+        assertEquals("[T][ ] b", loaded.get(0).toString());
+        assertEquals("[T][X] c", loaded.get(1).toString());
+        assertEquals(List.of(2L, 3L), loaded.stream().map(Task::getId).toList());
+        assertEquals(0, Files.size(Path.of(file)), "Snapshot should not be rewritten per mutation");
+    }
+
+    @Test
+    void load_tornJournalTail_ignoresIncompleteRecord() throws IOException {
+        Path file = dir.resolve("mango.txt");
+        Storage storage = new Storage(file.toString(), true);
+        storage.recordAdd(new Todo("kept"), List.of());
+        Files.writeString(Path.of(file + ".journal"), "A | T | 0 | tor", StandardOpenOption.APPEND);
+
+        List<Task> loaded = new Storage(file.toString(), true).load();
+
+        assertEquals(1, loaded.size());
+        assertEquals("[T][ ] kept", loaded.get(0).toString());
+    }
+
+    @Test
+    void save_snapshotWritten_clearsJournal() throws IOException {
+        Path file = dir.resolve("mango.txt");
+        Storage storage = new Storage(file.toString(), true);
+        List<Task> tasks = new ArrayList<>(List.of(new Todo("a")));
+        storage.recordAdd(tasks.get(0), tasks);
+        assertTrue(Files.exists(Path.of(file + ".journal")));
+
+        storage.save(tasks);
+
+        assertFalse(Files.exists(Path.of(file + ".journal")));
+        assertEquals(1, new Storage(file.toString(), true).load().size());
+    }
+
+    @Test
+    void convertTo_binary_roundTripsAllTaskTypesAndIsAutoDetected() throws IOException {
+        String file = dir.resolve("mango.txt").toString();
+        List<Task> tasks = new ArrayList<>(List.of(
+                new Todo("pipes | in | description"),
+                new Deadline("return book", "2019-12-02 1800"),
+                new Event("project meeting", "2025-09-01 2359", "2025-09-02 0030")));
+        TaskList.assignMissingIds(tasks);
+        tasks.get(1).markAsDone();
+        new Storage(file, false).convertTo(StorageFormat.BINARY, tasks);
+
+        Storage reopened = new Storage(file, false);
+        List<Task> loaded = reopened.load();
+
+        assertEquals(StorageFormat.BINARY, reopened.getFormat());
+        assertEquals(tasks.size(), loaded.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            assertEquals(tasks.get(i).toString(), loaded.get(i).toString());
+            assertEquals(tasks.get(i).getId(), loaded.get(i).getId());
+        }
+    }
+
+    @Test
+    void loadLazily_textAndBinary_decodesOnlyTouchedTasks() throws IOException {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            tasks.add(new Todo("task " + i));
+        }
+        tasks.add(new Deadline("return book", "2019-12-02 1800"));
+        TaskList.assignMissingIds(tasks);
+        for (StorageFormat format : StorageFormat.values()) {
+            String file = dir.resolve("mango-" + format + ".txt").toString();
+            new Storage(file, true).convertTo(format, tasks);
+            Storage storage = new Storage(file, true);
+            storage.recordMark(List.of(tasks.get(3)), tasks);
+            storage.recordDelete(List.of(tasks.get(0)), tasks);
+
+            LazyTaskList loaded = new Storage(file, true).loadLazily();
+
+            assertEquals(50, loaded.size());
+            assertTrue(loaded.materializedCount() <= 10, "Only tasks on the id searches should be decoded");
+            assertEquals("[T][X] task 3", loaded.get(2).toString());
+            assertEquals(tasks.get(50).toString(), loaded.get(49).toString());
+            assertEquals(51, loaded.get(49).getId());
+        }
+    }
+
+    @Test
+    void save_lazilyLoadedList_rewritesEveryTask() throws IOException {
+        String file = dir.resolve("mango.txt").toString();
+        Files.write(Path.of(file), List.of("T | 0 | a", "", "T | 1 | b\r", "T | 0 | c"));
+        Storage storage = new Storage(file, false);
+        LazyTaskList loaded = storage.loadLazily();
+        loaded.add(new Todo("d"));
+
+        storage.save(loaded);
+
+        assertEquals(List.of("[T][ ] a", "[T][X] b", "[T][ ] c", "[T][ ] d"),
+                new Storage(file, false).load().stream().map(Task::toString).toList());
+    }
+
+    @Test
+    void recordAdd_groupCommit_writesOnlyWhenBatchFillsOrFlushed() throws IOException {
+        Path file = dir.resolve("mango.txt");
+        Path journal = Path.of(file + ".journal");
+        Storage storage = new Storage(file.toString(), Durability.ON_INTERVAL, Duration.ZERO, 3);
+        List<Task> tasks = new ArrayList<>();
+        for (String desc : List.of("a", "b", "c", "d")) {
+            Task t = new Todo(desc);
+            tasks.add(t);
+            storage.recordAdd(t, tasks);
+            if (desc.equals("b")) {
+                assertFalse(Files.exists(journal), "Records below the batch size should stay buffered");
+            }
+        }
+        assertEquals(3, Files.readAllLines(journal).size());
+
+        storage.close();
+
+        assertEquals(4, new Storage(file.toString(), true).load().size());
+    }
+
+    @Test
+    void commit_onFlushDurability_writesNothingBeforeAndCompactsOnce() throws IOException {
+        Path file = dir.resolve("mango.txt");
+        Path journal = Path.of(file + ".journal");
+        Storage storage = new Storage(file.toString(), Durability.ON_FLUSH);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 1500; i++) {
+            Task t = new Todo("t" + i);
+            tasks.add(t);
+            storage.recordAdd(t, tasks);
+        }
+        assertFalse(Files.exists(journal), "Records should wait for the commit");
+        assertEquals(0, Files.size(file), "Compaction should wait for the commit");
+
+        storage.commit(tasks);
+
+        assertFalse(Files.exists(journal));
+        assertEquals(1500, Files.readAllLines(file).size());
+        assertEquals(1500, new Storage(file.toString(), true).load().size());
+    }
+
+    @Test
+    void flush_intervalElapsed_backgroundFlusherWritesPendingRecords() throws IOException, InterruptedException {
+        Path file = dir.resolve("mango.txt");
+        Storage storage = new Storage(file.toString(), Durability.NONE, Duration.ofMillis(10), 1000);
+        storage.recordAdd(new Todo("a"), List.of());
+
+        Path journal = Path.of(file + ".journal");
+        for (int i = 0; i < 200 && (!Files.exists(journal) || Files.size(journal) == 0); i++) {
+            Thread.sleep(10);
+        }
+
+        List<String> lines = Files.readAllLines(journal);
+        assertEquals(1, lines.size());
+        assertTrue(lines.get(0).endsWith(" A | T | 0 | a"));
+        storage.close();
+    }
+
+    @Test
+    void recordAdd_afterBackgroundFlushFailure_keepsRecordPendingUntilWritten()
+            throws IOException, InterruptedException {
+        Path file = dir.resolve("mango.txt");
+        Storage storage = new Storage(file.toString(), Durability.NONE, Duration.ofMillis(10), 1000);
+        Path journal = Path.of(file + ".journal");
+        Files.createDirectory(journal);
+        storage.recordAdd(new Todo("a"), List.of());
+        Thread.sleep(100);
+
+        try {
+            storage.recordAdd(new Todo("b"), List.of());
+        } catch (IOException e) {
+            // The background failure is reported here while the journal is still unwritable.
+        }
+        Files.delete(journal);
+        storage.flush();
+
+        List<String> lines = Files.readAllLines(journal);
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(1).endsWith(" A | T | 0 | b"));
+        storage.close();
+    }
+
+    @Test
+    void load_damagedSnapshotRecord_skipsItAndKeepsJournalAligned() throws IOException {
+        for (StorageFormat format : StorageFormat.values()) {
+            for (boolean isLazy : List.of(false, true)) {
+                Path file = dir.resolve("mango-" + format + "-" + isLazy + ".txt");
+                List<Task> tasks = todos("aaaa", "bbbb", "cccc");
+                Storage storage = new Storage(file.toString(), true);
+                storage.convertTo(format, tasks);
+                storage.recordMark(List.of(tasks.get(2)), tasks);
+                storage.recordDelete(List.of(tasks.get(1)), tasks);
+                storage.recordMark(List.of(tasks.get(0)), tasks);
+                byte[] bytes = Files.readAllBytes(file);
+                bytes[new String(bytes, StandardCharsets.ISO_8859_1).indexOf("bbbb")] = 'x';
+                Files.write(file, bytes);
+
+                Storage reopened = new Storage(file.toString(), true);
+                List<Task> loaded = isLazy ? reopened.loadLazily() : reopened.load();
+
+                assertEquals(List.of("[T][X] aaaa", "[T][X] cccc"), loaded.stream().map(Task::toString).toList());
+                assertEquals(1, reopened.getRecoveryReport().getSkippedTasks());
+                Storage again = new Storage(file.toString(), true);
+                assertEquals(2, again.load().size());
+                assertTrue(again.getRecoveryReport().isClean(), "Snapshot should be rewritten without the damage");
+            }
+        }
+    }
+
+    @Test
+    void load_damagedJournalRecord_truncatesFromThereAndReportsIt() throws IOException {
+        Path file = dir.resolve("mango.txt");
+        Path journal = Path.of(file + ".journal");
+        Storage storage = new Storage(file.toString(), true);
+        List<Task> tasks = todos("a", "b", "c");
+        for (Task t : tasks) {
+            storage.recordAdd(t, tasks);
+        }
+        List<String> lines = new ArrayList<>(Files.readAllLines(journal));
+        lines.set(1, lines.get(1).replace("| b", "| B"));
+        Files.write(journal, lines);
+        Files.writeString(journal, "A | T | 0 | tor", StandardOpenOption.APPEND);
+
+        Storage reopened = new Storage(file.toString(), true);
+        List<Task> loaded = reopened.load();
+
+        assertEquals(1, loaded.size());
+        assertEquals(3, reopened.getRecoveryReport().getSkippedJournalRecords());
+        assertEquals(1, Files.readAllLines(journal).size(), "Damaged tail should be truncated");
+    }
+
+    @Test
+    void load_crashAfterSnapshotBeforeJournalCleared_replaysToSameList() throws IOException {
+        Path file = dir.resolve("mango.txt");
+        Path journal = Path.of(file + ".journal");
+        new Storage(file.toString()).save(todos("a", "b", "c"));
+        Task d = new Todo("d");
+        d.restoreId(4);
+        // The second add reuses id 4: a restart after "D | #4" starts counting after the last id left.
+        Task e = new Todo("e");
+        e.restoreId(4);
+        Files.write(journal, List.of(Checksums.seal("A | " + d.toFileString()), Checksums.seal("M | #1"),
+                Checksums.seal("D | #4"), Checksums.seal("A | " + e.toFileString()), Checksums.seal("U | #1"),
+                Checksums.seal("D | #2")));
+        byte[] records = Files.readAllBytes(journal);
+        Storage storage = new Storage(file.toString(), true);
+        List<String> expected = storage.load().stream().map(Task::toFileString).toList();
+
+        storage.save(storage.load());
+        Files.write(journal, records);
+
+        List<Task> loaded = new Storage(file.toString(), true).load();
+        assertEquals(List.of("T | 0 | a | 1", "T | 0 | c | 3", "T | 0 | e | 4"), expected);
+        assertEquals(expected, loaded.stream().map(Task::toFileString).toList());
+    }
+
+    @Test
+    void save_atomicReplace_leavesNoTemporaryFile() throws IOException {
+        Path file = dir.resolve("mango.txt");
+        new Storage(file.toString()).save(List.of(new Todo("a")));
+
+        assertFalse(Files.exists(dir.resolve("mango.txt.tmp")));
+        assertTrue(new Storage(file.toString()).getRecoveryReport().isClean());
+        assertEquals(1, new Storage(file.toString()).load().size());
+    }
+
+    @Test
+    void load_legacyFileWithoutIds_assignsIdsAndRewritesSnapshot() throws IOException {
+        Path file = dir.resolve("mango.txt");
+        Files.write(file, List.of("T | 0 | a", "D | 1 | b | 2019-12-02 1800", "T | 0 | c"));
+
+        List<Task> loaded = new Storage(file.toString(), true).load();
+
+        assertEquals(List.of(1L, 2L, 3L), loaded.stream().map(Task::getId).toList());
+        List<String> lines = Files.readAllLines(file);
+        assertTrue(lines.get(1).endsWith("D | 1 | b | 2019-12-02 1800 | 2"), lines.get(1));
+        assertEquals(List.of(1L, 2L, 3L),
+                new Storage(file.toString(), true).loadLazily().stream().map(Task::getId).toList());
+    }
+
+    @Test
+    void save_separatorInDescription_roundTripsWithIds() throws IOException {
+        Path file = dir.resolve("mango.txt");
+        Storage storage = new Storage(file.toString(), true);
+        List<Task> tasks = new ArrayList<>(List.of(new Todo("c"), new Deadline("a | b \\| c\\", "2019-12-02 1800")));
+        TaskList.assignMissingIds(tasks);
+        storage.save(tasks);
+        Task added = new Todo("d | 4");
+        added.restoreId(3);
+        tasks.add(added);
+        storage.recordAdd(added, tasks);
+        storage.flush();
+
+        List<Task> loaded = new Storage(file.toString(), true).load();
+        assertEquals(List.of("c", "a | b \\| c\\", "d | 4"), loaded.stream().map(Task::getDescription).toList());
+        assertEquals(List.of(1L, 2L, 3L), loaded.stream().map(Task::getId).toList());
+        assertEquals(List.of(1L, 2L, 3L),
+                new Storage(file.toString(), true).loadLazily().stream().map(Task::getId).toList());
+    }
+
+    @Test
+    void load_legacySeparatorInDescription_keepsWholeDescriptionAndId() throws IOException {
+        Path file = dir.resolve("mango.txt");
+        Files.write(file, List.of("T | 0 | c | 1", "T | 0 | a | b | 2", "D | 0 | x | y | 2019-12-02 1800 | 3"));
+
+        List<Task> loaded = new Storage(file.toString()).load();
+
+        assertEquals(List.of("c", "a | b", "x | y"), loaded.stream().map(Task::getDescription).toList());
+        assertEquals(List.of(1L, 2L, 3L), loaded.stream().map(Task::getId).toList());
+    }
+
+    @Test
+    void loadLazily_missingIdInMiddle_repairsWholeList() throws IOException {
+        Path file = dir.resolve("mango.txt");
+        Files.write(file, List.of("T | 0 | c | 1", "T | 0 | a", "T | 0 | d | 3", "T | 0 | e | 4"));
+
+        TaskList tasks = new TaskList(new Storage(file.toString(), true).loadLazily());
+
+        assertEquals(List.of(1L, 2L, 3L, 4L), tasks.view().stream().map(Task::getId).toList());
+        assertEquals(1, tasks.indexOf(2));
+        assertTrue(Files.readAllLines(file).get(1).endsWith("T | 0 | a | 2"));
+    }
+
+    @Test
+    void loadLazily_undecodableRecord_skipsAndReportsIt() throws IOException {
+        Path file = dir.resolve("mango.txt");
+        Files.write(file, List.of("T | 0 | a", "D | 0 | b | not a date", "T | 0 | c"));
+
+        Storage storage = new Storage(file.toString(), true);
+        TaskList tasks = new TaskList(storage.loadLazily());
+
+        assertEquals(List.of(1L, 2L), tasks.view().stream().map(Task::getId).toList());
+        assertEquals(List.of("[T][ ] a", "[T][ ] c"), tasks.view().stream().map(Task::toString).toList());
+        assertEquals(1, storage.getRecoveryReport().getSkippedTasks());
+        Storage again = new Storage(file.toString(), true);
+        assertEquals(2, again.loadLazily().size());
+        assertTrue(again.getRecoveryReport().isClean(), "Snapshot should be rewritten without the record");
+    }
+
+    @Test
+    void load_journaledAddAlreadyInSnapshot_isNotDuplicated() throws IOException {
+        Path file = dir.resolve("mango.txt");
+        List<Task> tasks = todos("a", "b | c", "d");
+        new Storage(file.toString()).save(tasks);
+        Files.write(Path.of(file + ".journal"), List.of(Checksums.seal("A | " + tasks.get(1).toFileString()),
+                Checksums.seal("A | " + tasks.get(2).toFileString()), Checksums.seal("M | #3")));
+
+        List<Task> loaded = new Storage(file.toString(), true).load();
+
+        assertEquals(List.of("[T][ ] a", "[T][ ] b | c", "[T][X] d"), loaded.stream().map(Task::toString).toList());
+        assertEquals(List.of(1L, 2L, 3L), loaded.stream().map(Task::getId).toList());
+    }
+
+    @Test
+    void saveAliases_roundTripsAndSkipsDamagedLines() throws IOException {
+        Path file = dir.resolve("mango.txt");
+        Storage storage = new Storage(file.toString());
+        assertTrue(storage.loadAliases().isEmpty());
+
+        storage.saveAliases(Map.of("rm", "delete"));
+        Files.write(Path.of(file + ".aliases"), List.of("00000000 del | delete"), StandardOpenOption.APPEND);
+
+        assertEquals(Map.of("rm", "delete"), new Storage(file.toString()).loadAliases());
+        assertFalse(Files.exists(dir.resolve("mango.txt.aliases.tmp")));
+    }
+
+    private static List<Task> todos(String... descriptions) {
+        List<Task> tasks = new ArrayList<>();
+        for (String description : descriptions) {
+            tasks.add(new Todo(description));
+        }
+        TaskList.assignMissingIds(tasks);
+        return tasks;
+    }
+}
@@ -0,0 +1,105 @@
+package mango.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import mango.exception.MangoException;
+import mango.io.TaskStoreManager.TaskStore;
+import mango.task.Task;
+import mango.task.Todo;
+
+public class TaskStoreManagerTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void acquire_overBudget_evictsLeastRecentlyUsedAndKeepsItsChanges() throws IOException, MangoException {
+        try (TaskStoreManager manager = new TaskStoreManager(dir, Durability.ON_INTERVAL, 5, 1)) {
+            addTodos(manager.acquire("alice"), "a1", "a2");
+            addTodos(manager.acquire("bob"), "b1");
+            TaskStore alice = manager.acquire("alice");
+            assertEquals(5, manager.getCachedBytes());
+
+            addTodos(manager.acquire("carol"), "c1");
+
+            assertEquals(1, manager.getEvictionCount());
+            assertEquals(2, manager.getCachedStoreCount());
+            assertSame(alice, manager.acquire("alice"));
+            TaskStore bob = manager.acquire("bob");
+            assertEquals("[T][ ] b1", bob.getTaskList().get(0).toString());
+            assertEquals(4, manager.getMissCount());
+            assertEquals(2, manager.getHitCount());
+            assertTrue(Files.exists(manager.pathOf("bob")), "Evicted list should be on disk");
+        }
+    }
+
+    @Test
+    void acquire_singleListOverBudget_staysLoaded() throws IOException, MangoException {
+        try (TaskStoreManager manager = new TaskStoreManager(dir, Durability.ON_INTERVAL, 2, 1)) {
+            TaskStore alice = manager.acquire("alice");
+            addTodos(alice, "a1", "a2", "a3");
+
+            assertSame(alice, manager.acquire("alice"));
+            TaskStore bob = manager.acquire("bob");
+
+            assertEquals(1, manager.getCachedStoreCount());
+            assertNotSame(alice, manager.acquire("alice"));
+            assertEquals(3, manager.acquire("alice").getTaskList().size());
+            assertEquals("bob", bob.getTenant());
+        }
+    }
+
+    @Test
+    void acquire_storedList_weighsItsFilesWithoutDecodingThem() throws IOException, MangoException {
+        try (TaskStoreManager manager = new TaskStoreManager(dir, Durability.ON_INTERVAL, 1000, 1)) {
+            addTodos(manager.acquire("alice"), "a".repeat(300), "b".repeat(300));
+        }
+        Path file = new TaskStoreManager(dir, Durability.ON_INTERVAL, 1).pathOf("alice");
+        long fileBytes = Files.size(file) + Files.size(Path.of(file + ".journal"));
+        assertTrue(fileBytes > 600, "Both descriptions should be on disk: " + fileBytes);
+
+        try (TaskStoreManager manager = new TaskStoreManager(dir, Durability.ON_INTERVAL, fileBytes + 4, 1)) {
+            TaskStore alice = manager.acquire("alice");
+            assertEquals(fileBytes + 3, manager.getCachedBytes());
+
+            addTodos(manager.acquire("bob"), "b1");
+            manager.acquire("carol");
+
+            assertEquals(1, manager.getEvictionCount(), "Alice's files take most of the budget");
+            assertEquals(2, manager.getCachedStoreCount());
+            assertNotSame(alice, manager.acquire("alice"));
+        }
+    }
+
+    @Test
+    void acquire_badTenantName_throwsWithoutCreatingFiles() throws IOException {
+        try (TaskStoreManager manager = new TaskStoreManager(dir, Durability.ON_INTERVAL, 10)) {
+            for (String name : new String[] {"", "../etc", "a b", "x".repeat(65)}) {
+                IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                        () -> manager.acquire(name));
+                assertEquals(MangoException.ERR_TENANT_NAME, ex.getMessage());
+            }
+            assertEquals(0, manager.getMissCount());
+        }
+        try (var files = Files.list(dir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    private static void addTodos(TaskStore store, String... descriptions) throws IOException, MangoException {
+        for (String description : descriptions) {
+            Task t = store.getTaskList().add(new Todo(description));
+            store.getStorage().recordAdd(t, store.getTaskList().view());
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package mango.parser;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import mango.exception.MangoException;
+import mango.task.Deadline;
+import mango.task.TaskList;
+import mango.task.Todo;
+
+public class ParserTest {
+
+    @Test
+    void tokenize_reusedResult_findsCommandAndTrimmedArgument() {
+        ParsedInput parsed = new ParsedInput();
+
+        Tokenizer.tokenize("deadline  return book /by 2025-01-01 1200 \t", parsed);
+        assertEquals(Command.DEADLINE, parsed.getCommand());
+        assertEquals("return book /by 2025-01-01 1200", parsed.getArgument());
+
+        Tokenizer.tokenize("list", parsed);
+        assertEquals(Command.LIST, parsed.getCommand());
+        assertEquals("", parsed.getArgument());
+
+        Tokenizer.tokenize("  hello", parsed);
+        assertEquals(Command.UNKNOWN, parsed.getCommand());
+        assertEquals("hello", parsed.getArgument());
+    }
+
+    @Test
+    void splitWords_variousSpacing_matchesRegexSplitOfTrimmedText() {
+        for (String text : List.of("", "   ", "a", "  a  b\t\tc ", "mark 1-3 #4", "x\ny")) {
+            String trimmed = text.trim();
+            String[] expected = trimmed.isEmpty() ? new String[0] : trimmed.split("\\s+");
+            assertArrayEquals(expected, Tokenizer.splitWords(text), "Splitting '" + text + "'");
+        }
+    }
+
+    @Test
+    void parseSelector_rangesIdsTypesAndKeywords_selectsTheirUnion() throws MangoException {
+        TaskList list = new TaskList();
+        for (int i = 0; i < 20; i++) {
+            list.add(new Todo("todo" + i));
+        }
+        list.add(new Deadline("report", "2025-01-01 1200"));
+
+        Parser p = new Parser("mark 2-4 #10 type:d find:todo1 4");
+
+        assertEquals("{1, 2, 3, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20}",
+                list.select(p.parseSelector(list)).toString());
+        assertEquals(21, list.select(new Parser("unmark all").parseSelector(list)).cardinality());
+    }
+
+    @Test
+    void parseSelector_invalidTokens_throwSpecificErrors() throws MangoException {
+        TaskList list = new TaskList();
+        list.add(new Todo("read"));
+        list.add(new Todo("write"));
+
+        for (List<String> c : List.of(
+                List.of("mark 3", MangoException.ERR_MARK_RANGE),
+                List.of("delete 2-1", MangoException.ERR_BAD_RANGE),
+                List.of("mark #9", MangoException.ERR_NO_SUCH_ID),
+                List.of("unmark type:X", MangoException.ERR_BAD_SELECTOR),
+                List.of("mark x", MangoException.ERR_NAN))) {
+            MangoException ex = assertThrows(MangoException.class, () -> new Parser(c.get(0)).parseSelector(list));
+            assertEquals(c.get(1), ex.getMessage(), c.get(0));
+        }
+    }
+
+    @Test
+    void commandOf_wordsOnlySharingAPrefix_areUnknown() {
+        for (String input : List.of("todos x", "listing", "markdown notes", "byebye", "do", "d 1", "", " list")) {
+            assertEquals(Command.UNKNOWN, Command.of(input), input);
+        }
+        assertEquals(Command.DEADLINE, Command.of("deadline x /by 2025-01-01 1200"));
+        assertEquals(Command.DELETE, Command.of("delete\t1"));
+        assertEquals(Command.DUE, Command.of("due 2025-01-01"));
+        assertEquals(Command.BYE, Command.of("bye"));
+    }
+
+    @Test
+    void tokenize_aliases_dispatchAsTheirCommandUntilRemoved() throws MangoException {
+        CommandTable commands = new CommandTable();
+        ParsedInput parsed = new ParsedInput();
+        assertEquals(Command.DELETE, commands.define("rm", "delete"));
+        assertEquals(Command.DELETE, commands.define("del", "rm"));
+
+        Tokenizer.tokenize("rm 1-3", commands, parsed);
+        assertEquals(Command.DELETE, parsed.getCommand());
+        assertEquals("1-3", parsed.getArgument());
+        assertEquals(Command.DELETE, Tokenizer.tokenize("del 2", commands, parsed).getCommand());
+        assertEquals(Command.UNKNOWN, Tokenizer.tokenize("rmx 2", commands, parsed).getCommand());
+        assertEquals(Command.UNKNOWN, Command.of("rm 1"));
+
+        commands.remove("rm");
+        assertEquals(Command.UNKNOWN, Tokenizer.tokenize("rm 1", commands, parsed).getCommand());
+        assertEquals(Command.DELETE, Tokenizer.tokenize("del 1", commands, parsed).getCommand());
+        assertEquals(List.of("del"), List.copyOf(commands.aliases().keySet()));
+        assertEquals("delete", commands.aliases().get("del"));
+    }
+
+    @Test
+    void define_builtInNameOrUnknownTarget_throws() {
+        CommandTable commands = new CommandTable();
+        List<List<String>> cases = List.of(
+                List.of("list", "delete", MangoException.ERR_ALIAS_BUILT_IN),
+                List.of("rm", "remove", MangoException.ERR_ALIAS_TARGET),
+                List.of("rm", "del", MangoException.ERR_ALIAS_TARGET));
+        for (List<String> c : cases) {
+            MangoException ex = assertThrows(MangoException.class, () -> commands.define(c.get(0), c.get(1)));
+            assertEquals(c.get(2), ex.getMessage(), c.get(0));
+        }
+        MangoException ex = assertThrows(MangoException.class, () -> commands.remove("rm"));
+        assertEquals(MangoException.ERR_NO_SUCH_ALIAS, ex.getMessage());
+        assertEquals(Command.LIST, Command.of("list"));
+    }
+}
@@ -0,0 +1,137 @@
+package mango.task;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import mango.exception.MangoException;
+
+public class ColumnarTaskStoreTest {
+
+    @Test
+    void view_mixedTasks_rendersAndSavesLikeTheOriginals() {
+        List<Task> tasks = mixedTasks(300);
+        ColumnarTaskStore store = new ColumnarTaskStore(tasks);
+        store.add(new Todo("appended ünïcode"));
+
+        List<Task> view = store.view();
+
+        assertEquals(301, view.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            assertEquals(tasks.get(i).toFileString(), view.get(i).toFileString());
+            assertEquals(tasks.get(i).toString(), view.get(i).toString());
+        }
+        assertEquals("[T][ ] appended ünïcode", view.get(300).toString());
+        assertEquals(tasks.get(299).getId() + 1, view.get(300).getId());
+    }
+
+    @Test
+    void constructorAndAdd_leaveGivenTasksUnchangedAndRejectOutOfOrderIds() {
+        List<Task> tasks = List.of(new Todo("a"), new Todo("b"), new Todo("c"));
+        tasks.get(1).restoreId(5);
+        ColumnarTaskStore store = new ColumnarTaskStore(tasks);
+        Todo added = new Todo("d");
+
+        assertEquals(List.of(1L, 5L, 6L), store.view().stream().map(Task::getId).toList());
+        assertEquals(List.of(0L, 5L, 0L), tasks.stream().map(Task::getId).toList());
+        assertEquals(7, store.add(added).getId());
+        assertEquals(0, added.getId());
+
+        Todo stale = new Todo("e");
+        stale.restoreId(6);
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> store.add(stale));
+        assertEquals(MangoException.ERR_ID_ORDER, ex.getMessage());
+        assertEquals(4, store.size());
+    }
+
+    @Test
+    void pageFindCount_sameResultsAsTaskList() {
+        List<Task> tasks = mixedTasks(2000);
+        TaskList list = new TaskList(tasks);
+        ColumnarTaskStore store = new ColumnarTaskStore(tasks);
+
+        for (ListQuery.Status status : ListQuery.Status.values()) {
+            for (String type : new String[] {null, "T", "D", "E"}) {
+                ListQuery query = new ListQuery(status, type, 37, 50);
+                TaskPage expected = list.page(query);
+                TaskPage actual = store.page(query);
+                assertEquals(expected.getTotalMatches(), actual.getTotalMatches(), status + " " + type);
+                assertEquals(expected.getTotalMatches(), store.count(status, type), status + " " + type);
+                assertEquals(render(expected.getTasks()), render(actual.getTasks()), status + " " + type);
+                for (int i = 0; i < expected.getTasks().size(); i++) {
+                    assertEquals(expected.positionOf(i), actual.positionOf(i), status + " " + type);
+                }
+            }
+        }
+        for (String keyword : new String[] {"report", "ep", "t 1", "", "zucchini"}) {
+            assertEquals(render(list.find(keyword)), render(store.view(), store.find(keyword)), keyword);
+        }
+    }
+
+    @Test
+    void dueBetween_pendingDeadlines_matchesObjectScanAndFollowsSetDone() {
+        List<Task> tasks = mixedTasks(2000);
+        ColumnarTaskStore store = new ColumnarTaskStore(tasks);
+        long start = EpochMinutes.of(LocalDateTime.of(2025, 3, 1, 0, 0));
+        long end = EpochMinutes.of(LocalDateTime.of(2025, 6, 1, 0, 0));
+
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < tasks.size(); i++) {
+            Task t = tasks.get(i);
+            if (t instanceof Deadline d && !d.isDone() && d.getByMinute() >= start && d.getByMinute() < end) {
+                expected.add(i);
+            }
+        }
+        int[] pending = store.dueBetween(start, end, ListQuery.Status.PENDING);
+
+        assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(), pending);
+        assertTrue(pending.length > 0, "Generated tasks should include pending deadlines in the window");
+        store.setDone(pending[0], true);
+        assertEquals(pending.length - 1, store.dueBetween(start, end, ListQuery.Status.PENDING).length);
+        assertTrue(store.get(pending[0]).isDone());
+        assertFalse(tasks.get(pending[0]).isDone(), "The store must not change the tasks it was built from");
+    }
+
+    private static List<Task> mixedTasks(int count) {
+        Random random = new Random(11);
+        String[] words = {"report", "budget", "review", "deploy", "Report"};
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 0, 0);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String description = words[random.nextInt(words.length)] + " t " + i;
+            LocalDateTime when = base.plusMinutes(random.nextInt(365 * 24 * 60));
+            Task t = switch (i % 3) {
+                case 0 -> new Todo(description);
+                case 1 -> new Deadline(description, when);
+                default -> new Event(description, when, when.plusHours(1 + random.nextInt(48)));
+            };
+            if (random.nextInt(4) == 0) {
+                t.markAsDone();
+            }
+            tasks.add(t);
+        }
+        TaskList.assignMissingIds(tasks);
+        return tasks;
+    }
+
+    private static List<String> render(List<Task> tasks) {
+        return tasks.stream().map(Task::toFileString).toList();
+    }
+
+    private static List<String> render(List<Task> view, int[] positions) {
+        List<String> rendered = new ArrayList<>();
+        for (int position : positions) {
+            rendered.add(view.get(position).toFileString());
+        }
+        return rendered;
+    }
+}
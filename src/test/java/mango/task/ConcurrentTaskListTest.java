@@ -0,0 +1,163 @@
+package mango.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import mango.exception.MangoException;
+
+public class ConcurrentTaskListTest {
+
+    @Test
+    void snapshot_laterMarkRemoveAndAdd_leaveItUnchanged() throws MangoException {
+        ConcurrentTaskList list = new ConcurrentTaskList(todos(3000));
+        List<Task> before = list.snapshot();
+        List<String> rendered = before.stream().map(Task::toString).toList();
+
+        List<Task> marked = list.mark(range(1000, 2999));
+        list.remove(range(2500, 2999));
+        list.add(new Todo("late"));
+
+        assertEquals(rendered, before.stream().map(Task::toString).toList());
+        assertEquals(2000, marked.size());
+        assertTrue(marked.get(0).isDone());
+        assertEquals(2501, list.size());
+        assertEquals("[T][X] t1000", list.snapshot().get(1000).toString());
+        assertEquals("[T][ ] late", list.snapshot().get(2500).toString());
+        assertEquals(3001, list.snapshot().get(2500).getId());
+    }
+
+    @Test
+    void add_afterRemovingTheTail_doesNotOverwriteOlderSnapshot() throws MangoException {
+        ConcurrentTaskList list = new ConcurrentTaskList(todos(10));
+        List<Task> before = list.snapshot();
+        Task last = before.get(9);
+
+        list.remove(range(9, 9));
+        list.add(new Todo("replacement"));
+
+        assertSame(last, before.get(9));
+        assertEquals("[T][ ] replacement", list.snapshot().get(9).toString());
+    }
+
+    @Test
+    void findAndPage_sameResultsAsIndexedTaskList() throws MangoException {
+        List<Task> generated = new ArrayList<>();
+        String[] words = {"report draft", "budget", "Report final", "review report budget"};
+        for (int i = 0; i < 500; i++) {
+            Task t = new Todo(words[i % words.length] + " " + i);
+            if (i % 3 == 0) {
+                t.markAsDone();
+            }
+            generated.add(t);
+        }
+        TaskList indexed = new TaskList(generated);
+        ConcurrentTaskList concurrent = new ConcurrentTaskList(generated);
+
+        for (SearchQuery query : List.of(SearchQuery.substring("report"), SearchQuery.substring("ep"),
+                SearchQuery.allWords(List.of("report", "BUDGET")), SearchQuery.anyWord(List.of("draft", "final")))) {
+            assertEquals(indexed.find(query), concurrent.find(query), query.getTerms().toString());
+        }
+        ListQuery pending = new ListQuery(ListQuery.Status.PENDING, null, 40, 25);
+        assertEquals(indexed.page(pending).getTasks(), concurrent.page(pending).getTasks());
+        MangoException ex = assertThrows(MangoException.class, () -> concurrent.add(new Todo("BUDGET 1")));
+        assertEquals(MangoException.ERR_DUPLICATE_TASK, ex.getMessage());
+    }
+
+    @Test
+    void snapshots_readersDuringRandomWrites_alwaysSeeConsistentUnchangingLists() throws InterruptedException {
+        ConcurrentTaskList list = new ConcurrentTaskList(todos(2000));
+        AtomicBoolean isDone = new AtomicBoolean();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        AtomicLong snapshotsChecked = new AtomicLong();
+        List<Thread> readers = new ArrayList<>();
+        for (int r = 0; r < 4; r++) {
+            Thread reader = new Thread(() -> {
+                try {
+                    while (!isDone.get()) {
+                        checkSnapshot(list.snapshot());
+                        snapshotsChecked.incrementAndGet();
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            });
+            reader.start();
+            readers.add(reader);
+        }
+
+        Random random = new Random(7);
+        int added = 0;
+        try {
+            for (int op = 0; op < 5000 && failure.get() == null; op++) {
+                int size = list.size();
+                int first = random.nextInt(size);
+                int last = Math.min(size - 1, first + random.nextInt(200));
+                switch (random.nextInt(4)) {
+                    case 0 -> list.mark(range(first, last));
+                    case 1 -> list.unmark(range(first, last));
+                    case 2 -> list.remove(range(first, Math.min(last, first + 5)));
+                    default -> {
+                        for (int i = 0; i < 10; i++) {
+                            list.add(new Todo("added " + added++));
+                        }
+                    }
+                }
+            }
+        } catch (MangoException e) {
+            failure.compareAndSet(null, e);
+        } finally {
+            isDone.set(true);
+        }
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        assertNull(failure.get(), "Reader or writer failed: " + failure.get());
+        assertTrue(snapshotsChecked.get() > 0, "Readers should have checked snapshots");
+        checkSnapshot(list.snapshot());
+    }
+
+    /**
+     * Checks that ids increase along a snapshot and that reading it twice gives the same tasks in
+     * the same state.
+     */
+    private static void checkSnapshot(List<Task> snapshot) {
+        List<Task> first = new ArrayList<>(snapshot.size());
+        List<Boolean> firstDone = new ArrayList<>(snapshot.size());
+        long previousId = 0;
+        for (Task t : snapshot) {
+            assertTrue(t.getId() > previousId, "Ids must increase along a snapshot");
+            previousId = t.getId();
+            first.add(t);
+            firstDone.add(t.isDone());
+        }
+        for (int i = 0; i < snapshot.size(); i++) {
+            assertSame(first.get(i), snapshot.get(i), "A snapshot must not change");
+            assertEquals(firstDone.get(i), snapshot.get(i).isDone(), "A task in a snapshot must not change");
+        }
+    }
+
+    private static TaskSelector range(int first, int last) {
+        return new TaskSelector(false, new int[] {first, last}, new long[0], "", List.of());
+    }
+
+    private static List<Task> todos(int count) {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            tasks.add(new Todo("t" + i));
+        }
+        return tasks;
+    }
+}
@@ -0,0 +1,51 @@
+package mango.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class EpochMinutesTest {
+    private static final DateTimeFormatter FILE_FMT = DateTimeFormatter.ofPattern("yyyy-MM-dd HHmm");
+    private static final DateTimeFormatter DISPLAY_FMT = DateTimeFormatter.ofPattern("MMM dd yyyy, h:mma");
+
+    @Test
+    void parseFormatDisplay_randomTimes_matchJavaTime() {
+        Random random = new Random(3);
+        LocalDateTime min = LocalDateTime.of(1, 1, 1, 0, 0);
+        long span = EpochMinutes.of(LocalDateTime.of(9999, 12, 31, 23, 59)) - EpochMinutes.of(min);
+        for (int i = 0; i < 100_000; i++) {
+            LocalDateTime expected = min.plusMinutes((long) (random.nextDouble() * span));
+            String text = expected.format(FILE_FMT);
+
+            long minute = EpochMinutes.parse(text);
+
+            assertEquals(expected, EpochMinutes.toLocalDateTime(minute), text);
+            assertEquals(text, EpochMinutes.format(minute));
+            assertEquals(expected.format(DISPLAY_FMT), EpochMinutes.display(minute), text);
+        }
+    }
+
+    @Test
+    void parse_edgesOfCalendar_matchJavaTime() {
+        for (String text : new String[] {"1970-01-01 0000", "1969-12-31 2359", "2000-02-29 1200",
+            "1900-02-28 0001", "2024-12-31 0000", "0001-01-01 0000", "9999-12-31 2359"}) {
+            assertEquals(LocalDateTime.parse(text, FILE_FMT), EpochMinutes.toLocalDateTime(EpochMinutes.parse(text)));
+            assertEquals(text, EpochMinutes.format(EpochMinutes.parse(text)));
+        }
+    }
+
+    @Test
+    void parse_malformedOrImpossible_throwsDateTimeParseException() {
+        for (String text : new String[] {"", "2025-12-31", "2025-12-31 180", "2025-12-31 18000", "2025/12/31 1800",
+            "2025-12-31T1800", "2025-1a-31 1800", "2025-13-01 1800", "2025-00-10 1800", "2025-02-29 1200",
+            "1900-02-29 1200", "2025-04-31 1200", "2025-12-31 2400", "2025-12-31 1860", "0000-01-01 0000"}) {
+            assertThrows(DateTimeParseException.class, () -> EpochMinutes.parse(text), text);
+        }
+    }
+}
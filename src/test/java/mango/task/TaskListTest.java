@@ -1,11 +1,18 @@
 package mango.task;
 
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
+import java.util.Random;
 
 import org.junit.jupiter.api.Test;
 
@@ -22,12 +29,29 @@ public class TaskListTest {
         assertEquals(MangoException.ERR_DUPLICATE_TASK, ex.getMessage());
     }
 
+    @Test
+    void add_sameDescriptionDifferentCase_throwsDuplicate() throws MangoException {
+        TaskList list = new TaskList();
+        list.add(new Todo("Buy Milk"));
+        assertThrows(MangoException.class, () -> list.add(new Todo("buy milk")));
+        assertDoesNotThrow(() -> list.add(new Deadline("buy milk", "2025-01-01 1200")));
+    }
+
+    @Test
+    void add_afterRemovingDuplicate_succeeds() throws MangoException {
+        TaskList list = new TaskList();
+        list.add(new Todo("read"));
+        list.remove(List.of(0));
+        assertDoesNotThrow(() -> list.add(new Todo("read")));
+        assertEquals(1, list.size());
+    }
+
     @Test
     void mark_validSingleIndex_setsTaskDoneAndKeepsIdentity() throws MangoException {
         TaskList list = new TaskList();
         list.add(new Todo("buy milk"));
         Task before = list.get(0);
-        List<Task> updated = list.mark(List.of(0));
+        List<Task> updated = list.mark(list.select(positions(0)));
         assertEquals(1, updated.size());
         assertSame(before, list.get(0), "Object identity should be preserved");
         assertTrue(list.get(0).toString().contains("[X]"), "Marked task should show as done");
@@ -37,9 +61,9 @@ public class TaskListTest {
     void unmark_validSingleIndex_setsTaskNotDoneAndKeepsIdentity() throws MangoException {
         TaskList list = new TaskList();
         list.add(new Todo("buy milk"));
-        list.mark(List.of(0));
+        list.mark(list.select(positions(0)));
         Task before = list.get(0);
-        List<Task> updated = list.unmark(List.of(0));
+        List<Task> updated = list.unmark(list.select(positions(0)));
         assertEquals(1, updated.size());
         assertSame(before, list.get(0), "Object identity should be preserved");
         assertTrue(list.get(0).toString().contains("[ ]"), "Unmarked task should show as not done");
@@ -51,7 +75,7 @@ public class TaskListTest {
         list.add(new Todo("T0"));
         list.add(new Todo("T1"));
         list.add(new Todo("T2"));
-        list.mark(List.of(0, 2));
+        list.mark(list.select(positions(0, 2)));
         assertTrue(list.get(0).toString().contains("[X]"));
         assertTrue(list.get(2).toString().contains("[X]"));
         assertTrue(list.get(1).toString().contains("[ ]"), "Untouched task remains not done");
@@ -67,4 +91,271 @@ public class TaskListTest {
         assertEquals(2, results.size());
         assertTrue(results.stream().allMatch(t -> t.description.contains("milk")));
     }
+
+    @Test
+    void find_allWords_returnsTasksContainingEveryWordInListOrder() throws MangoException {
+        TaskList list = new TaskList();
+        list.add(new Todo("Buy milk and bread"));
+        list.add(new Todo("buy bread"));
+        list.add(new Todo("bread, milk, eggs"));
+        List<Task> results = list.find(SearchQuery.allWords(List.of("MILK", "bread")));
+        assertEquals(2, results.size());
+        assertSame(list.get(0), results.get(0));
+        assertSame(list.get(2), results.get(1));
+    }
+
+    @Test
+    void find_anyWord_returnsEachMatchOnce() throws MangoException {
+        TaskList list = new TaskList();
+        list.add(new Todo("milk"));
+        list.add(new Todo("call mom"));
+        list.add(new Todo("milk for mom"));
+        List<Task> results = list.find(SearchQuery.anyWord(List.of("milk", "mom")));
+        assertEquals(3, results.size());
+        assertSame(list.get(2), results.get(2));
+    }
+
+    @Test
+    void find_afterRemoval_doesNotReturnRemovedTask() throws MangoException {
+        TaskList list = new TaskList();
+        list.add(new Todo("buy milk"));
+        list.add(new Todo("milk powder"));
+        assertEquals(2, list.find("milk").size());
+        list.remove(List.of(0));
+        List<Task> results = list.find("milk");
+        assertEquals(1, results.size());
+        assertSame(list.get(0), results.get(0));
+        assertEquals(1, list.find("mi").size());
+    }
+
+    @Test
+    void dueBetween_deadlinesInsideWindow_returnedInListOrder() throws MangoException {
+        TaskList list = new TaskList();
+        list.add(new Deadline("late", "2025-03-10 0900"));
+        list.add(new Deadline("early", "2025-03-01 0000"));
+        list.add(new Deadline("outside", "2025-04-01 0000"));
+        list.add(new Event("meeting", "2025-03-02 1000", "2025-03-02 1100"));
+        List<Task> results = list.dueBetween(
+                LocalDateTime.of(2025, 3, 1, 0, 0), LocalDateTime.of(2025, 4, 1, 0, 0));
+        assertEquals(List.of(list.get(0), list.get(1)), results);
+    }
+
+    @Test
+    void scheduledBetween_randomEventsAndRemovals_matchesLinearScan() throws MangoException {
+        Random random = new Random(42);
+        TaskList list = new TaskList();
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 0, 0);
+        for (int i = 0; i < 300; i++) {
+            LocalDateTime from = base.plusHours(random.nextInt(2000));
+            LocalDateTime to = from.plusHours(1 + random.nextInt(200));
+            list.add(new Event("event " + i, format(from), format(to)));
+        }
+        list.scheduledBetween(base, base);
+        for (int i = 0; i < 100; i++) {
+            list.remove(List.of(random.nextInt(list.size())));
+        }
+
+        for (int q = 0; q < 50; q++) {
+            LocalDateTime start = base.plusHours(random.nextInt(2200));
+            LocalDateTime end = start.plusHours(1 + random.nextInt(48));
+            List<Task> expected = new ArrayList<>();
+            for (Task t : list.view()) {
+                Event e = (Event) t;
+                if (e.getFrom().isBefore(end) && e.getTo().isAfter(start)) {
+                    expected.add(e);
+                }
+            }
+            assertEquals(expected, list.scheduledBetween(start, end));
+        }
+    }
+
+    @Test
+    void page_unfilteredWindow_keepsListPositions() throws MangoException {
+        TaskList list = new TaskList();
+        for (int i = 0; i < 5; i++) {
+            list.add(new Todo("T" + i));
+        }
+        TaskPage page = list.page(new ListQuery(ListQuery.Status.ANY, null, 2, 2));
+        assertEquals(List.of(list.get(2), list.get(3)), page.getTasks());
+        assertEquals(3, page.positionOf(1));
+        assertEquals(5, page.getTotalMatches());
+        assertTrue(page.isPartial());
+    }
+
+    @Test
+    void page_doneAndTypeFilters_countsAllMatchesButReturnsOnlyPage() throws MangoException {
+        TaskList list = new TaskList();
+        list.add(new Todo("a"));
+        list.add(new Deadline("b", "2025-01-01 1200"));
+        list.add(new Todo("c"));
+        list.add(new Todo("d"));
+        list.mark(list.select(positions(0, 1, 2, 3)));
+        list.unmark(list.select(positions(2)));
+        TaskPage page = list.page(new ListQuery(ListQuery.Status.DONE, "T", 1, 1));
+        assertEquals(List.of(list.get(3)), page.getTasks());
+        assertEquals(3, page.positionOf(0));
+        assertEquals(2, page.getTotalMatches());
+    }
+
+    @Test
+    void lazyList_pageAndFind_decodeOnDemandAndKeepIndexesConsistent() throws MangoException {
+        List<String> stored = List.of("alpha", "beta", "gamma", "delta");
+        LazyTaskList lazy = new LazyTaskList(stored.size(), i -> {
+            Task t = new Todo(stored.get(i));
+            t.id = i + 1;
+            return t;
+        });
+        TaskList list = new TaskList(lazy);
+
+        assertEquals("[T][ ] beta", list.page(new ListQuery(ListQuery.Status.ANY, null, 1, 1))
+                .getTasks().get(0).toString());
+        assertEquals(1, lazy.materializedCount());
+
+        assertThrows(MangoException.class, () -> list.add(new Todo("GAMMA")));
+        list.add(new Todo("epsilon"));
+        list.remove(List.of(0));
+        assertEquals(List.of(list.get(3)), list.find(SearchQuery.anyWord(List.of("epsilon"))));
+        assertEquals(5, list.get(3).getId(), "New ids should continue after the stored ones");
+    }
+
+    @Test
+    void add_afterRemovals_assignsIncreasingIdsFoundByIdAndPosition() throws MangoException {
+        TaskList list = new TaskList();
+        for (int i = 0; i < 100; i++) {
+            list.add(new Todo("task " + i));
+        }
+        assertSame(list.get(40), list.getById(41));
+        list.remove(List.of(0, 40, 99));
+        Task added = list.add(new Todo("late"));
+
+        assertEquals(101, added.getId(), "Ids must not be reused within a session");
+        assertNull(list.getById(41));
+        assertEquals(-1, list.indexOf(41));
+        assertEquals(39, list.indexOf(42));
+        assertSame(added, list.getById(101));
+        assertEquals(list.size() - 1, list.indexOf(101));
+    }
+
+    @Test
+    void constructor_tasksWithoutIds_assignsIdsInListOrder() throws MangoException {
+        Task kept = new Todo("kept");
+        kept.id = 7;
+        TaskList list = new TaskList(List.of(new Todo("first"), kept, new Todo("after")));
+
+        assertEquals(List.of(1L, 7L, 8L), list.view().stream().map(Task::getId).toList());
+        assertEquals(9, list.add(new Todo("new")).getId());
+    }
+
+    @Test
+    void remove_repeatedIndices_removesEachTaskOnceInListOrder() throws MangoException {
+        TaskList list = new TaskList();
+        for (String desc : List.of("a", "b", "c", "d")) {
+            list.add(new Todo(desc));
+        }
+
+        List<Task> removed = list.remove(List.of(2, 0, 2));
+
+        assertEquals(List.of("[T][ ] a", "[T][ ] c"), removed.stream().map(Task::toString).toList());
+        assertEquals(List.of("[T][ ] b", "[T][ ] d"), list.view().stream().map(Task::toString).toList());
+        assertDoesNotThrow(() -> list.add(new Todo("c")));
+    }
+
+    @Test
+    void remove_bulkPositions_matchesOneByOneRemovalAndKeepsIndexesConsistent() throws MangoException {
+        TaskList list = new TaskList();
+        List<Task> expected = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            expected.add(list.add(new Todo("task " + i + (i % 3 == 0 ? " fizz" : ""))));
+        }
+        assertEquals(334, list.find(SearchQuery.anyWord(List.of("fizz"))).size());
+        BitSet positions = new BitSet();
+        Random random = new Random(15);
+        for (int i = 0; i < 600; i++) {
+            positions.set(random.nextInt(expected.size()));
+        }
+        for (int i = positions.length() - 1; i >= 0; i = positions.previousSetBit(i - 1)) {
+            expected.remove(i);
+        }
+
+        list.remove(positions);
+
+        assertEquals(expected, list.view());
+        assertEquals(expected.stream().filter(t -> t.description.endsWith("fizz")).toList(),
+                list.find(SearchQuery.anyWord(List.of("fizz"))));
+        assertSame(expected.get(expected.size() - 1), list.getById(expected.get(expected.size() - 1).getId()));
+    }
+
+    @Test
+    void remove_lazyList_leavesSurvivorsUndecoded() throws MangoException {
+        LazyTaskList lazy = new LazyTaskList(100, i -> {
+            Task t = new Todo("task " + i);
+            t.id = i + 1;
+            return t;
+        });
+        TaskList list = new TaskList(lazy);
+        BitSet positions = new BitSet();
+        positions.set(10, 20);
+
+        list.remove(positions);
+
+        assertEquals(0, lazy.materializedCount(), "Only the removed tasks should have been decoded");
+        assertEquals(90, list.size());
+        assertEquals(21, list.get(10).getId());
+    }
+
+    @Test
+    void select_mixedSelector_returnsUnionOfEveryPart() throws MangoException {
+        TaskList list = new TaskList();
+        for (int i = 0; i < 10; i++) {
+            list.add(new Todo("todo " + i));
+        }
+        list.add(new Deadline("report draft", "2025-01-01 1200"));
+        list.add(new Event("party", "2025-01-01 1800", "2025-01-01 2300"));
+        list.add(new Todo("final report"));
+
+        TaskSelector selector = new TaskSelector(false, new int[] {1, 3}, new long[] {6},
+                "E", List.of("report"));
+
+        assertEquals("{1, 2, 3, 5, 10, 11, 12}", list.select(selector).toString());
+        assertEquals(13, list.select(new TaskSelector(true, new int[0], new long[0], "", List.of())).cardinality());
+    }
+
+    @Test
+    void select_nothingMatches_throwsNoMatch() throws MangoException {
+        TaskList list = new TaskList();
+        list.add(new Todo("read"));
+
+        MangoException ex = assertThrows(MangoException.class,
+                () -> list.select(new TaskSelector(false, new int[0], new long[0], "D", List.of())));
+        assertEquals(MangoException.ERR_NO_MATCH, ex.getMessage());
+    }
+
+    @Test
+    void markAndUnmark_positions_updateEachSelectedTaskOnce() throws MangoException {
+        TaskList list = new TaskList();
+        for (int i = 0; i < 5; i++) {
+            list.add(new Todo("task " + i));
+        }
+        BitSet positions = new BitSet();
+        positions.set(1, 4);
+
+        assertEquals(3, list.mark(positions).size());
+        positions.clear(2);
+        list.unmark(positions);
+
+        assertEquals(List.of(false, false, true, false, false), list.view().stream().map(Task::isDone).toList());
+    }
+
+    private static TaskSelector positions(int... positions) {
+        int[] ranges = new int[positions.length * 2];
+        for (int i = 0; i < positions.length; i++) {
+            ranges[2 * i] = positions[i];
+            ranges[2 * i + 1] = positions[i];
+        }
+        return new TaskSelector(false, ranges, new long[0], "", List.of());
+    }
+
+    private static String format(LocalDateTime dateTime) {
+        return dateTime.format(DateTimeFormatter.ofPattern("yyyy-MM-dd HHmm"));
+    }
 }